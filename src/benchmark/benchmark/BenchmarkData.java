@@ -0,0 +1,75 @@
+package benchmark;
+
+import java.util.*;
+import common.ParkingViolation;
+import common.Property;
+
+// Synthetic, seeded in-memory datasets for the query benchmarks; the same size always gives
+// the same data. Input files for the reader benchmarks come from tools.DataGenerator.
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+
+    // Number of distinct ZIP codes (19100 ... 19199)
+    static final int ZIP_COUNT = 100;
+
+    private static final String[] DESCRIPTIONS = {
+        "METER EXPIRED", "METER EXPIRED CC", "OVER TIME LIMIT", "STOP PROHIBITED", "BUS ONLY ZONE",
+        "PARKING PROHIBITED", "DOUBLE PARKED", "EXPIRED INSPECTION", "HP RESERVED SPACE", "FIRE HYDRANT"
+    };
+    private static final String[] STATES = {"PA", "PA", "PA", "PA", "NJ", "DE", "NY", "MD"};
+
+    private BenchmarkData() {
+    }
+
+    static String zipCode(int index) {
+        return Integer.toString(19100 + index % ZIP_COUNT);
+    }
+
+    static List<ParkingViolation> violations(int count) {
+        Random random = new Random(SEED);
+        List<ParkingViolation> violations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            violations.add(new ParkingViolation(
+                    timestamp(random), 10 + random.nextInt(30) * 5, DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)],
+                    Integer.toString(1000000 + random.nextInt(9000000)), STATES[random.nextInt(STATES.length)],
+                    Integer.toString(2000000 + i), zipCode(random.nextInt(ZIP_COUNT))));
+        }
+        return violations;
+    }
+
+    static List<Property> properties(int count) {
+        Random random = new Random(SEED + 1);
+        List<Property> properties = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // about one in twenty values is missing, as in the real file
+            Double marketValue = random.nextInt(20) == 0 ? null : (double) (50000 + random.nextInt(950000));
+            Double livableArea = random.nextInt(20) == 0 ? null : (double) (500 + random.nextInt(4500));
+            properties.add(new Property(zipCode(random.nextInt(ZIP_COUNT)), marketValue, livableArea));
+        }
+        return properties;
+    }
+
+    static Map<String, Integer> population() {
+        Random random = new Random(SEED + 2);
+        Map<String, Integer> population = new HashMap<>();
+        for (int i = 0; i < ZIP_COUNT; i++) {
+            population.put(zipCode(i), 1000 + random.nextInt(50000));
+        }
+        return population;
+    }
+
+    // ZIP codes to query: the known ones followed by unknown ones, cycled up to count
+    static String[] queryZipCodes(int count) {
+        String[] zipCodes = new String[count];
+        for (int i = 0; i < count; i++) {
+            zipCodes[i] = i % (2 * ZIP_COUNT) < ZIP_COUNT ? zipCode(i) : Integer.toString(19300 + i % ZIP_COUNT);
+        }
+        return zipCodes;
+    }
+
+    private static String timestamp(Random random) {
+        return String.format("2013-%02d-%02dT%02d:%02d:00Z", 1 + random.nextInt(12), 1 + random.nextInt(28),
+                             random.nextInt(24), random.nextInt(60));
+    }
+}
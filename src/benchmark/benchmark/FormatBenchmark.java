@@ -0,0 +1,25 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import processor.DataProcessor;
+
+// formatFourDecimals, called once per ZIP code when menu option 2 prints fines per capita
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    private final double[] values = {0.0, 0.00004, 1.5, 12.345678, 987.65435, 123456.78901};
+    private int next;
+
+    @Benchmark
+    public String formatFourDecimals() {
+        double value = values[next];
+        next = next + 1 == values.length ? 0 : next + 1;
+        return DataProcessor.formatFourDecimals(value);
+    }
+}
@@ -0,0 +1,52 @@
+package benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import processor.DataProcessor;
+import processor.ZipMetric;
+
+// processZipCodes over a batch of ZIP codes, half of them unknown. Batches of at least
+// DataProcessor's parallel threshold (4096) are answered in parallel. The batch path
+// reads the aggregate table directly, so the caches play no part.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ProcessZipCodesBenchmark {
+
+    // Number of violation rows; there are half as many properties
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    @Param({"200", "10000"})
+    public int batchSize;
+
+    private DataProcessor processor;
+    private String[] batch;
+
+    @Setup(Level.Trial)
+    public void createProcessor() {
+        DataProcessor.resetInstance();
+        processor = DataProcessor.getInstance(BenchmarkData.violations(rows), BenchmarkData.properties(rows / 2),
+                                              BenchmarkData.population());
+        batch = BenchmarkData.queryZipCodes(batchSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void resetProcessor() {
+        DataProcessor.resetInstance();
+    }
+
+    @Benchmark
+    public Map<String, Integer> averageMarketValue() {
+        return processor.processZipCodes(ZipMetric.AVERAGE_MARKET_VALUE, batch);
+    }
+
+    @Benchmark
+    public Map<String, Integer> marketValuePerCapita() {
+        return processor.processZipCodes(ZipMetric.MARKET_VALUE_PER_CAPITA, batch);
+    }
+}
@@ -0,0 +1,112 @@
+package benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.*;
+import processor.CacheStats;
+import processor.DataProcessor;
+import processor.MemoCache;
+
+// DataProcessor queries on an in-memory dataset.
+// With cache = "cold" the processor is built with caches that never keep a value, so every
+// per-ZIP call takes the miss path (dictionary lookup and aggregate read); with "warm" the
+// default caches are filled in setup, so every call is a hit.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class QueryBenchmark {
+
+    // Number of violation rows; there are half as many properties
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    @Param({"cold", "warm"})
+    public String cache;
+
+    private DataProcessor processor;
+    private String[] zipCodes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createProcessor() {
+        if (cache.equals("cold")) {
+            DataProcessor.setCacheFactory(PassThroughCache::new);
+        }
+        DataProcessor.resetInstance();
+        processor = DataProcessor.getInstance(BenchmarkData.violations(rows), BenchmarkData.properties(rows / 2),
+                                              BenchmarkData.population());
+        zipCodes = BenchmarkData.queryZipCodes(2 * BenchmarkData.ZIP_COUNT);
+        for (String zipCode : zipCodes) {
+            processor.getAverageMarketValue(zipCode);
+            processor.getAverageTotalLivableArea(zipCode);
+            processor.getMarketValuePerCapita(zipCode);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void resetProcessor() {
+        DataProcessor.resetInstance();
+        DataProcessor.resetCacheFactory();
+    }
+
+    // Cycles through known and unknown ZIP codes
+    private String nextZipCode() {
+        String zipCode = zipCodes[next];
+        next = next + 1 == zipCodes.length ? 0 : next + 1;
+        return zipCode;
+    }
+
+    @Benchmark
+    public Map<String, Double> finesPerCapita() {
+        if (cache.equals("cold")) {
+            // the fines per capita map has its own cache, outside the cache factory
+            processor.invalidateCaches();
+        }
+        return processor.getFinesPerCapita();
+    }
+
+    @Benchmark
+    public int averageMarketValue() {
+        return processor.getAverageMarketValue(nextZipCode());
+    }
+
+    @Benchmark
+    public int averageTotalLivableArea() {
+        return processor.getAverageTotalLivableArea(nextZipCode());
+    }
+
+    @Benchmark
+    public int marketValuePerCapita() {
+        return processor.getMarketValuePerCapita(nextZipCode());
+    }
+
+    // Cache that stores nothing: every get runs the loader
+    static final class PassThroughCache implements MemoCache<String, Integer> {
+        @Override
+        public Integer get(String key, Function<? super String, ? extends Integer> loader) {
+            return loader.apply(key);
+        }
+
+        @Override
+        public void invalidate(String key) {
+        }
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public CacheStats stats() {
+            return new CacheStats(0, 0, 0, 0);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import common.ParkingViolation;
+import common.Property;
+import datamanagement.ParkingViolationReader;
+import datamanagement.PopulationReader;
+import datamanagement.PropertyReader;
+import tools.DataGenerator;
+
+// Ingestion: parses input files generated once per trial (with the usual share of dirty
+// rows) in a temporary directory.
+// Each benchmark returns the parsed data so the JIT can't drop the work.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReaderBenchmark {
+
+    // Number of violation rows; the properties file has half as many rows
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private File directory;
+    private String violationsCSV;
+    private String violationsJSON;
+    private String propertiesCSV;
+    private String populationFile;
+
+    @Setup(Level.Trial)
+    public void writeFiles() throws IOException {
+        directory = java.nio.file.Files.createTempDirectory("reader-benchmark").toFile();
+        violationsCSV = new File(directory, "parking.csv").getPath();
+        violationsJSON = new File(directory, "parking.json").getPath();
+        propertiesCSV = new File(directory, "properties.csv").getPath();
+        populationFile = new File(directory, "population.txt").getPath();
+        DataGenerator generator = new DataGenerator(BenchmarkData.SEED, DataGenerator.DEFAULT_DIRTY_RATE);
+        generator.writeViolationsCSV(rows, violationsCSV);
+        generator.writeViolationsJSON(rows, violationsJSON);
+        generator.writePropertiesCSV(rows / 2, propertiesCSV);
+        generator.writePopulation(populationFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public List<ParkingViolation> violationsCSV() throws IOException {
+        return ParkingViolationReader.readFromCSV(violationsCSV);
+    }
+
+    @Benchmark
+    public List<ParkingViolation> violationsCSVParallel() throws IOException {
+        return ParkingViolationReader.readFromCSVParallel(violationsCSV, true);
+    }
+
+    @Benchmark
+    public List<ParkingViolation> violationsJSON() throws IOException {
+        return ParkingViolationReader.readFromJSON(violationsJSON);
+    }
+
+    @Benchmark
+    public List<ParkingViolation> violationsJSONStreaming() throws IOException {
+        return ParkingViolationReader.readFromJSONStreaming(violationsJSON);
+    }
+
+    @Benchmark
+    public List<Property> propertiesCSV() throws IOException {
+        return PropertyReader.readFromCSV(propertiesCSV);
+    }
+
+    @Benchmark
+    public Map<String, Integer> population() throws IOException {
+        return PopulationReader.readFromFile(populationFile);
+    }
+}
@@ -0,0 +1,63 @@
+package common;
+
+/**
+ * One ZIP code's line of the full-city report: its population and every
+ * per-ZIP metric the menu offers.
+ */
+public class ZipReportRow {
+    private final String zipCode;
+    private final int population;
+    private final double totalFines;
+    private final double finesPerCapita;
+    private final int averageMarketValue;
+    private final int averageTotalLivableArea;
+    private final int marketValuePerCapita;
+
+    public ZipReportRow(String zipCode, int population, double totalFines, double finesPerCapita,
+                        int averageMarketValue, int averageTotalLivableArea, int marketValuePerCapita) {
+        this.zipCode = zipCode;
+        this.population = population;
+        this.totalFines = totalFines;
+        this.finesPerCapita = finesPerCapita;
+        this.averageMarketValue = averageMarketValue;
+        this.averageTotalLivableArea = averageTotalLivableArea;
+        this.marketValuePerCapita = marketValuePerCapita;
+    }
+
+    public String getZipCode() {
+        return zipCode;
+    }
+
+    /**
+     * Population of the ZIP code, or 0 if it is not in the population data.
+     */
+    public int getPopulation() {
+        return population;
+    }
+
+    /**
+     * Total fines of PA violations in the ZIP code.
+     */
+    public double getTotalFines() {
+        return totalFines;
+    }
+
+    /**
+     * Total fines divided by population, or 0 when either is zero.
+     */
+    public double getFinesPerCapita() {
+        return finesPerCapita;
+    }
+
+    public int getAverageMarketValue() {
+        return averageMarketValue;
+    }
+
+    public int getAverageTotalLivableArea() {
+        return averageTotalLivableArea;
+    }
+
+    public int getMarketValuePerCapita() {
+        return marketValuePerCapita;
+    }
+}
@@ -0,0 +1,116 @@
+package datamanagement;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Watches data files with a WatchService and reports changes to them on a background thread.
+// Files are often rewritten in several steps (truncate, write, rename into place), so
+// changes are collected until the files have been quiet for the settle delay and then
+// reported together: the callback gets the names, as passed in, of the files that changed.
+// If the callback throws, the exception goes to the error callback and watching goes on.
+public class DataFileWatcher implements Closeable {
+
+    private final WatchService watchService;
+    // absolute path of each watched file -> the name it was given as
+    private final Map<Path, String> files = new HashMap<>();
+    private final long settleMillis;
+    private final Consumer<Set<String>> onChange;
+    private final Consumer<RuntimeException> onError;
+    private Thread thread;
+
+    public DataFileWatcher(List<String> filenames, long settleMillis, Consumer<Set<String>> onChange,
+                           Consumer<RuntimeException> onError) throws IOException {
+        if (filenames == null || filenames.isEmpty()) {
+            throw new IllegalArgumentException("Filenames cannot be null or empty");
+        }
+        if (settleMillis < 0) {
+            throw new IllegalArgumentException("Settle delay cannot be negative");
+        }
+        if (onChange == null) {
+            throw new IllegalArgumentException("Callback cannot be null");
+        }
+        if (onError == null) {
+            throw new IllegalArgumentException("Error callback cannot be null");
+        }
+        this.settleMillis = settleMillis;
+        this.onChange = onChange;
+        this.onError = onError;
+        this.watchService = FileSystems.getDefault().newWatchService();
+
+        // a WatchService watches directories, so register each file's directory once
+        Set<Path> directories = new HashSet<>();
+        try {
+            for (String filename : filenames) {
+                Path path = Paths.get(filename).toAbsolutePath().normalize();
+                files.put(path, filename);
+                if (directories.add(path.getParent())) {
+                    path.getParent().register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                }
+            }
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+    }
+
+    // Starts watching on a daemon thread
+    public synchronized void start() {
+        if (thread != null) {
+            throw new IllegalStateException("Watcher already started");
+        }
+        thread = new Thread(this::run, "data-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Stops watching; a reload already in progress still finishes
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    // Helper: Collects changed files until they have been quiet for settleMillis, then reports them
+    private void run() {
+        Set<String> changed = new LinkedHashSet<>();
+        try {
+            while (true) {
+                WatchKey key = changed.isEmpty()
+                        ? watchService.take()
+                        : watchService.poll(settleMillis, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    report(changed);
+                    changed = new LinkedHashSet<>();
+                    continue;
+                }
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // events were lost, so any file may have changed
+                        changed.addAll(files.values());
+                        continue;
+                    }
+                    String filename = files.get(directory.resolve((Path) event.context()));
+                    if (filename != null) {
+                        changed.add(filename);
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed: stop watching
+        }
+    }
+
+    // Helper: Passes a set of changed files to the callback, keeping the watcher alive if it fails
+    private void report(Set<String> changed) {
+        try {
+            onChange.accept(Collections.unmodifiableSet(changed));
+        } catch (RuntimeException e) {
+            onError.accept(e);
+        }
+    }
+}
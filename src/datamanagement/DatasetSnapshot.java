@@ -0,0 +1,574 @@
+package datamanagement;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import common.ParkingViolation;
+import common.Property;
+
+// Binary snapshot of the parsed violations, properties and population, so a later start
+// with unchanged input files can memory-map it instead of parsing the text again.
+// The snapshot records a fingerprint of the source files (format, and per file its path,
+// size, last-modified time and a CRC32 of sampled blocks); read() only accepts a snapshot
+// whose fingerprint matches the sources now, so a changed source makes the caller reload
+// the files and write a new snapshot.
+//
+// Layout (little-endian): magic, format version, then sections. Each section is an int
+// length, the content and a CRC32 of the content:
+//   fingerprint
+//   violations: row count; dictionaries of descriptions, states and ZIP codes; then per
+//     row group: timestamps, fines, description codes, vehicle ids, state codes,
+//     violation ids, ZIP codes
+//   properties: row count; dictionary of ZIP codes; then per row group: ZIP codes,
+//     market values, total livable areas, null flags
+//   population: ZIP codes and populations
+// Columns are split into row groups so every section stays far below the 2 GB one mapping
+// can hold, and so the groups can be decoded in parallel.
+public class DatasetSnapshot {
+
+    private static final int MAGIC = 0x4e535650; // "PVSN"
+    private static final int VERSION = 1;
+
+    // Rows per row group
+    static final int ROWS_PER_GROUP = 1 << 16;
+
+    // Bytes hashed at the start, middle and end of each source file
+    private static final int SAMPLE_SIZE = 64 * 1024;
+
+    // Sections per row group
+    private static final int VIOLATION_COLUMNS = 7;
+    private static final int PROPERTY_COLUMNS = 4;
+
+    // Null flags of a property row
+    private static final byte NO_MARKET_VALUE = 1;
+    private static final byte NO_TOTAL_LIVABLE_AREA = 2;
+
+    private final Path path;
+    private final byte[] fingerprint;
+
+    // Fingerprints the source files now; read() and write() compare against this fingerprint,
+    // so take it before loading the sources
+    public DatasetSnapshot(String snapshotFile, String format, List<String> sourceFiles) throws IOException {
+        if (snapshotFile == null || snapshotFile.trim().isEmpty()) {
+            throw new IllegalArgumentException("Snapshot filename cannot be null or empty");
+        }
+        if (format == null || sourceFiles == null) {
+            throw new IllegalArgumentException("Format and source files cannot be null");
+        }
+        this.path = Paths.get(snapshotFile);
+        this.fingerprint = fingerprint(format, sourceFiles);
+    }
+
+    // Parsed data read back from a snapshot
+    public static class Dataset {
+        private final List<ParkingViolation> violations;
+        private final List<Property> properties;
+        private final Map<String, Integer> population;
+
+        Dataset(List<ParkingViolation> violations, List<Property> properties, Map<String, Integer> population) {
+            this.violations = violations;
+            this.properties = properties;
+            this.population = population;
+        }
+
+        public List<ParkingViolation> getViolations() {
+            return violations;
+        }
+
+        public List<Property> getProperties() {
+            return properties;
+        }
+
+        public Map<String, Integer> getPopulation() {
+            return population;
+        }
+    }
+
+    // Reads the snapshot, or returns null if there is none, it was taken from different
+    // source files, or it can't be read (e.g. it is damaged); the caller then loads the sources
+    public Dataset read() {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        IngestionEvent event = new IngestionEvent();
+        event.begin();
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r");
+             FileChannel channel = file.getChannel()) {
+            ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                return null;
+            }
+            long position = 8;
+            if (!section(channel, position).equals(ByteBuffer.wrap(fingerprint))) {
+                return null;
+            }
+            position = nextSection(channel, position);
+
+            int violationCount = section(channel, position).getInt();
+            position = nextSection(channel, position);
+            String[] descriptions = readStrings(section(channel, position));
+            position = nextSection(channel, position);
+            String[] states = readStrings(section(channel, position));
+            position = nextSection(channel, position);
+            String[] violationZips = readStrings(section(channel, position));
+            position = nextSection(channel, position);
+            long[] violationGroups = groupPositions(channel, position, violationCount, VIOLATION_COLUMNS);
+            position = violationGroups[violationGroups.length - 1];
+
+            int propertyCount = section(channel, position).getInt();
+            position = nextSection(channel, position);
+            String[] propertyZips = readStrings(section(channel, position));
+            position = nextSection(channel, position);
+            long[] propertyGroups = groupPositions(channel, position, propertyCount, PROPERTY_COLUMNS);
+            position = propertyGroups[propertyGroups.length - 1];
+
+            Map<String, Integer> population = readPopulation(section(channel, position));
+
+            ParkingViolation[] violations = new ParkingViolation[violationCount];
+            Property[] properties = new Property[propertyCount];
+            // row groups are independent, so they are checked and decoded in parallel
+            IntStream.range(0, violationGroups.length - 1).parallel().forEach(group -> {
+                try {
+                    readViolationGroup(channel, violationGroups[group], group, violations,
+                                       descriptions, states, violationZips);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            IntStream.range(0, propertyGroups.length - 1).parallel().forEach(group -> {
+                try {
+                    readPropertyGroup(channel, propertyGroups[group], group, properties, propertyZips);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            event.finish(path.toString(), "snapshot", (long) violationCount + propertyCount + population.size(), 0);
+            return new Dataset(new ArrayList<>(Arrays.asList(violations)),
+                               new ArrayList<>(Arrays.asList(properties)), population);
+        } catch (IOException | RuntimeException e) {
+            // damaged or unreadable: the sources are loaded instead and the snapshot rewritten
+            return null;
+        }
+    }
+
+    // Writes a snapshot of the data, tagged with the fingerprint taken by the constructor.
+    // Writes to a temporary file first, so a reader never sees a half-written snapshot.
+    public void write(List<ParkingViolation> violations, List<Property> properties,
+                      Map<String, Integer> population) throws IOException {
+        if (violations == null || properties == null || population == null) {
+            throw new IllegalArgumentException("Snapshot data cannot be null");
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (SectionWriter out = new SectionWriter(temporary)) {
+            out.putRawInt(MAGIC);
+            out.putRawInt(VERSION);
+
+            out.begin();
+            out.putBytes(fingerprint);
+            out.end();
+
+            out.begin();
+            out.putInt(violations.size());
+            out.end();
+            Map<String, Integer> descriptions = new LinkedHashMap<>();
+            Map<String, Integer> states = new LinkedHashMap<>();
+            Map<String, Integer> violationZips = new LinkedHashMap<>();
+            int[][] codes = new int[3][violations.size()];
+            for (int row = 0; row < violations.size(); row++) {
+                ParkingViolation violation = violations.get(row);
+                if (violation == null) {
+                    throw new IllegalArgumentException("Violations list cannot contain null rows");
+                }
+                codes[0][row] = code(violation.getDescription(), descriptions);
+                codes[1][row] = code(violation.getState(), states);
+                codes[2][row] = code(violation.getZipCode(), violationZips);
+            }
+            writeStrings(out, descriptions.keySet());
+            writeStrings(out, states.keySet());
+            writeStrings(out, violationZips.keySet());
+            for (int from = 0; from < violations.size(); from += ROWS_PER_GROUP) {
+                int to = Math.min(violations.size(), from + ROWS_PER_GROUP);
+                out.begin();
+                for (int row = from; row < to; row++) {
+                    out.putString(violations.get(row).getTimestamp());
+                }
+                out.end();
+                out.begin();
+                for (int row = from; row < to; row++) {
+                    out.putDouble(violations.get(row).getFine());
+                }
+                out.end();
+                writeCodes(out, codes[0], from, to);
+                out.begin();
+                for (int row = from; row < to; row++) {
+                    out.putString(violations.get(row).getVehicleId());
+                }
+                out.end();
+                writeCodes(out, codes[1], from, to);
+                out.begin();
+                for (int row = from; row < to; row++) {
+                    out.putString(violations.get(row).getViolationId());
+                }
+                out.end();
+                writeCodes(out, codes[2], from, to);
+            }
+
+            out.begin();
+            out.putInt(properties.size());
+            out.end();
+            Map<String, Integer> propertyZips = new LinkedHashMap<>();
+            int[] zipCodes = new int[properties.size()];
+            for (int row = 0; row < properties.size(); row++) {
+                Property property = properties.get(row);
+                if (property == null) {
+                    throw new IllegalArgumentException("Properties list cannot contain null rows");
+                }
+                zipCodes[row] = code(property.getZipCode(), propertyZips);
+            }
+            writeStrings(out, propertyZips.keySet());
+            for (int from = 0; from < properties.size(); from += ROWS_PER_GROUP) {
+                int to = Math.min(properties.size(), from + ROWS_PER_GROUP);
+                writeCodes(out, zipCodes, from, to);
+                out.begin();
+                for (int row = from; row < to; row++) {
+                    Double value = properties.get(row).getMarketValue();
+                    out.putDouble(value == null ? 0 : value);
+                }
+                out.end();
+                out.begin();
+                for (int row = from; row < to; row++) {
+                    Double value = properties.get(row).getTotalLivableArea();
+                    out.putDouble(value == null ? 0 : value);
+                }
+                out.end();
+                out.begin();
+                for (int row = from; row < to; row++) {
+                    Property property = properties.get(row);
+                    out.putByte((byte) ((property.getMarketValue() == null ? NO_MARKET_VALUE : 0)
+                            | (property.getTotalLivableArea() == null ? NO_TOTAL_LIVABLE_AREA : 0)));
+                }
+                out.end();
+            }
+
+            out.begin();
+            out.putInt(population.size());
+            for (Map.Entry<String, Integer> entry : population.entrySet()) {
+                out.putString(entry.getKey());
+                out.putInt(entry.getValue());
+            }
+            out.end();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        try {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Helper: Fingerprint of the format and the source files (FileNotFoundException if one is missing)
+    private static byte[] fingerprint(String format, List<String> sourceFiles) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(format);
+        out.writeInt(sourceFiles.size());
+        for (String sourceFile : sourceFiles) {
+            File source = new File(sourceFile);
+            try (RandomAccessFile file = new RandomAccessFile(source, "r");
+                 FileChannel channel = file.getChannel()) {
+                long size = channel.size();
+                CRC32 crc = new CRC32();
+                ByteBuffer sample = ByteBuffer.allocate((int) Math.min(SAMPLE_SIZE, size));
+                for (long start : new long[] {0, (size - sample.capacity()) / 2, size - sample.capacity()}) {
+                    sample.clear();
+                    readFully(channel, sample, start);
+                    crc.update(sample.array(), 0, sample.capacity());
+                }
+                out.writeUTF(source.getAbsolutePath());
+                out.writeLong(size);
+                out.writeLong(source.lastModified());
+                out.writeLong(crc.getValue());
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    // Helper: Dictionary code of a string, adding it if new; -1 for null
+    private static int code(String value, Map<String, Integer> dictionary) {
+        if (value == null) {
+            return -1;
+        }
+        Integer code = dictionary.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.put(value, code);
+        }
+        return code;
+    }
+
+    // Helper: Writes a section with a count and the strings
+    private static void writeStrings(SectionWriter out, Collection<String> strings) throws IOException {
+        out.begin();
+        out.putInt(strings.size());
+        for (String value : strings) {
+            out.putString(value);
+        }
+        out.end();
+    }
+
+    // Helper: Writes a section with codes[from, to)
+    private static void writeCodes(SectionWriter out, int[] codes, int from, int to) throws IOException {
+        out.begin();
+        for (int row = from; row < to; row++) {
+            out.putInt(codes[row]);
+        }
+        out.end();
+    }
+
+    // Helper: Maps a section's content and checks its CRC
+    private static ByteBuffer section(FileChannel channel, long position) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, length, position);
+        int size = length.getInt(0);
+        if (size < 0 || position + 8 + size > channel.size()) {
+            throw new IOException("Damaged snapshot section at offset " + position);
+        }
+        ByteBuffer content = size == 0 ? ByteBuffer.allocate(0)
+                : channel.map(FileChannel.MapMode.READ_ONLY, position + 4, size);
+        ByteBuffer stored = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, stored, position + 4 + size);
+        CRC32 crc = new CRC32();
+        crc.update(content.duplicate());
+        if ((int) crc.getValue() != stored.getInt(0)) {
+            throw new IOException("Checksum mismatch in snapshot section at offset " + position);
+        }
+        return content.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Helper: Offset of the section after the one at position
+    private static long nextSection(FileChannel channel, long position) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, length, position);
+        return position + 8 + length.getInt(0);
+    }
+
+    // Helper: Start offset of each row group of a table, plus the offset after the last one
+    private static long[] groupPositions(FileChannel channel, long position, int rows, int columns)
+            throws IOException {
+        int groups = (rows + ROWS_PER_GROUP - 1) / ROWS_PER_GROUP;
+        long[] positions = new long[groups + 1];
+        for (int group = 0; group < groups; group++) {
+            positions[group] = position;
+            for (int column = 0; column < columns; column++) {
+                position = nextSection(channel, position);
+            }
+        }
+        positions[groups] = position;
+        return positions;
+    }
+
+    // Helper: Decodes one row group of violations into rows[group * ROWS_PER_GROUP ...]
+    private static void readViolationGroup(FileChannel channel, long position, int group, ParkingViolation[] rows,
+                                           String[] descriptions, String[] states, String[] zipCodes)
+            throws IOException {
+        ByteBuffer[] columns = new ByteBuffer[VIOLATION_COLUMNS];
+        for (int column = 0; column < VIOLATION_COLUMNS; column++) {
+            columns[column] = section(channel, position);
+            position = nextSection(channel, position);
+        }
+        int from = group * ROWS_PER_GROUP;
+        int to = Math.min(rows.length, from + ROWS_PER_GROUP);
+        byte[] scratch = new byte[256];
+        for (int row = from; row < to; row++) {
+            String timestamp = getString(columns[0], scratch);
+            double fine = columns[1].getDouble();
+            String description = lookup(descriptions, columns[2].getInt());
+            String vehicleId = getString(columns[3], scratch);
+            String state = lookup(states, columns[4].getInt());
+            String violationId = getString(columns[5], scratch);
+            String zipCode = lookup(zipCodes, columns[6].getInt());
+            rows[row] = new ParkingViolation(timestamp, fine, description, vehicleId, state, violationId, zipCode);
+        }
+    }
+
+    // Helper: Decodes one row group of properties into rows[group * ROWS_PER_GROUP ...]
+    private static void readPropertyGroup(FileChannel channel, long position, int group, Property[] rows,
+                                          String[] zipCodes) throws IOException {
+        ByteBuffer[] columns = new ByteBuffer[PROPERTY_COLUMNS];
+        for (int column = 0; column < PROPERTY_COLUMNS; column++) {
+            columns[column] = section(channel, position);
+            position = nextSection(channel, position);
+        }
+        int from = group * ROWS_PER_GROUP;
+        int to = Math.min(rows.length, from + ROWS_PER_GROUP);
+        for (int row = from; row < to; row++) {
+            String zipCode = lookup(zipCodes, columns[0].getInt());
+            double marketValue = columns[1].getDouble();
+            double totalLivableArea = columns[2].getDouble();
+            byte nulls = columns[3].get();
+            rows[row] = new Property(zipCode,
+                    (nulls & NO_MARKET_VALUE) != 0 ? null : marketValue,
+                    (nulls & NO_TOTAL_LIVABLE_AREA) != 0 ? null : totalLivableArea);
+        }
+    }
+
+    // Helper: Reads a section with a count and the strings
+    private static String[] readStrings(ByteBuffer section) {
+        String[] strings = new String[section.getInt()];
+        byte[] scratch = new byte[256];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = getString(section, scratch);
+        }
+        return strings;
+    }
+
+    // Helper: Reads the population section into a map
+    private static Map<String, Integer> readPopulation(ByteBuffer section) {
+        int count = section.getInt();
+        Map<String, Integer> population = new HashMap<>();
+        byte[] scratch = new byte[256];
+        for (int i = 0; i < count; i++) {
+            String zipCode = getString(section, scratch);
+            population.put(zipCode, section.getInt());
+        }
+        return population;
+    }
+
+    // Helper: Reads a length-prefixed UTF-8 string; length -1 stands for null
+    private static String getString(ByteBuffer buffer, byte[] scratch) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        buffer.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // Helper: Dictionary entry for a code; -1 stands for null
+    private static String lookup(String[] dictionary, int code) {
+        return code < 0 ? null : dictionary[code];
+    }
+
+    // Helper: Fills the buffer from the channel starting at position
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file");
+            }
+        }
+    }
+
+    // Writes length-prefixed, checksummed sections through a staging buffer
+    private static final class SectionWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+        private long sectionStart;
+        private long sectionLength;
+
+        SectionWriter(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                            StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        // Writes an int outside any section (the file header)
+        void putRawInt(int value) throws IOException {
+            ByteBuffer raw = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            raw.putInt(0, value);
+            channel.write(raw);
+        }
+
+        void begin() throws IOException {
+            sectionStart = channel.position();
+            putRawInt(0); // length, filled in by end()
+            crc.reset();
+            sectionLength = 0;
+        }
+
+        void end() throws IOException {
+            flush();
+            if (sectionLength > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot section too large: " + sectionLength + " bytes");
+            }
+            ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            length.putInt(0, (int) sectionLength);
+            channel.write(length, sectionStart);
+            putRawInt((int) crc.getValue());
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(8);
+            buffer.putDouble(value);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.remaining()) {
+                flush();
+            }
+            if (bytes.length > buffer.remaining()) {
+                crc.update(bytes, 0, bytes.length);
+                sectionLength += bytes.length;
+                ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+                while (wrapped.hasRemaining()) {
+                    channel.write(wrapped);
+                }
+            } else {
+                buffer.put(bytes);
+            }
+        }
+
+        // Length-prefixed UTF-8; null is written as length -1
+        void putString(String value) throws IOException {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            putBytes(bytes);
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.array(), 0, buffer.limit());
+            sectionLength += buffer.limit();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package datamanagement;
+
+import java.io.File;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Java Flight Recorder event for one input file read by a reader, so a recording shows
+// where startup time went next to GC and file I/O. Disabled unless a recording enables
+// it; a disabled event costs a timestamp check.
+@Name("datamanagement.Ingestion")
+@Label("File Ingestion")
+@Category({"Parking Data", "Ingestion"})
+@Description("An input file read and parsed into rows")
+@StackTrace(false)
+final class IngestionEvent extends Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Format")
+    @Description("csv, json, properties, population or snapshot, plus the reader variant")
+    String format;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Rows Accepted")
+    long rowsAccepted;
+
+    @Label("Rows Rejected")
+    @Description("Lines or elements that didn't produce a row")
+    long rowsRejected;
+
+    // Ends the event started with begin() and commits it if a recording wants it
+    void finish(String filename, String format, long rowsAccepted, long rowsRejected) {
+        end();
+        if (shouldCommit()) {
+            this.file = filename;
+            this.format = format;
+            this.bytes = new File(filename).length();
+            this.rowsAccepted = rowsAccepted;
+            this.rowsRejected = rowsRejected;
+            commit();
+        }
+    }
+}
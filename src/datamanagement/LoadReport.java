@@ -0,0 +1,110 @@
+package datamanagement;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counters of one file read by a reader: rows read, accepted and rejected by reason, bytes
+ * read and elapsed time. Progress reports are taken while the file is still being read;
+ * the final report has isComplete() set.
+ */
+public final class LoadReport {
+    private final String file;
+    private final long rowsAccepted;
+    private final long rowsRejected;
+    private final Map<RejectReason, Long> rejects;
+    private final long bytesRead;
+    private final long totalBytes;
+    private final long elapsedNanos;
+    private final boolean complete;
+
+    LoadReport(String file, long rowsAccepted, long[] rejectsByReason, long bytesRead, long totalBytes,
+               long elapsedNanos, boolean complete) {
+        this.file = file;
+        this.rowsAccepted = rowsAccepted;
+        Map<RejectReason, Long> rejects = new EnumMap<>(RejectReason.class);
+        long rowsRejected = 0;
+        for (RejectReason reason : RejectReason.values()) {
+            rejects.put(reason, rejectsByReason[reason.ordinal()]);
+            rowsRejected += rejectsByReason[reason.ordinal()];
+        }
+        this.rejects = Collections.unmodifiableMap(rejects);
+        this.rowsRejected = rowsRejected;
+        this.bytesRead = bytesRead;
+        this.totalBytes = totalBytes;
+        this.elapsedNanos = elapsedNanos;
+        this.complete = complete;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    // Lines (or JSON array elements) seen so far; a header line is not counted
+    public long getRowsRead() {
+        return rowsAccepted + rowsRejected;
+    }
+
+    public long getRowsAccepted() {
+        return rowsAccepted;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getRejected(RejectReason reason) {
+        return rejects.get(reason);
+    }
+
+    // Rejected rows for every reason, in declaration order, including reasons with none
+    public Map<RejectReason, Long> getRejects() {
+        return rejects;
+    }
+
+    // Bytes consumed from the file so far; readers that buffer or map the file count whole buffers
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    // Size of the file when the read started
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // Rows read per second of elapsed time, or 0 if no time has passed
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : getRowsRead() * 1e9 / elapsedNanos;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(file).append(": rows=").append(getRowsRead())
+               .append(", accepted=").append(rowsAccepted)
+               .append(", rejected=").append(rowsRejected);
+        if (rowsRejected > 0) {
+            String separator = " (";
+            for (Map.Entry<RejectReason, Long> entry : rejects.entrySet()) {
+                if (entry.getValue() > 0) {
+                    builder.append(separator).append(entry.getKey()).append('=').append(entry.getValue());
+                    separator = ", ";
+                }
+            }
+            builder.append(')');
+        }
+        builder.append(", bytes=").append(bytesRead).append('/').append(totalBytes)
+               .append(", elapsedMillis=").append(elapsedNanos / 1_000_000)
+               .append(", rowsPerSecond=").append(Math.round(getRowsPerSecond()));
+        return builder.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package datamanagement;
+
+/**
+ * The data read from a file together with the final LoadReport of the read.
+ */
+public final class LoadResult<T> {
+    private final T data;
+    private final LoadReport report;
+
+    LoadResult(T data, LoadReport report) {
+        this.data = data;
+        this.report = report;
+    }
+
+    public T getData() {
+        return data;
+    }
+
+    public LoadReport getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,122 @@
+package datamanagement;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+// Counts the rows a reader accepts and rejects while it reads one file, and hands a
+// LoadReport to the progress consumer every PROGRESS_INTERVAL rows. Counting an accepted
+// row is one increment and one comparison, so it doesn't show up next to the parsing.
+// Not thread-safe: parallel readers keep one tracker per chunk and merge them.
+final class LoadTracker {
+
+    // Rows between progress reports
+    static final long PROGRESS_INTERVAL = 1 << 16;
+
+    private final String file;
+    private final long totalBytes;
+    private final long startNanos = System.nanoTime();
+    private final Consumer<LoadReport> progress;
+
+    private final long[] rejects = new long[RejectReason.values().length];
+    private long rows;
+    private long rowsRejected;
+    private long bytesRead;
+    // row count at which the next progress report is due; never reached without a consumer
+    private long nextProgress;
+
+    // progress may be null; totalBytes is taken from the file's current size
+    LoadTracker(String file, Consumer<LoadReport> progress) {
+        this.file = file;
+        this.totalBytes = file == null ? 0 : new File(file).length();
+        this.progress = progress;
+        this.nextProgress = progress == null ? Long.MAX_VALUE : PROGRESS_INTERVAL;
+    }
+
+    void accepted() {
+        if (++rows == nextProgress) {
+            reportProgress();
+        }
+    }
+
+    void rejected(RejectReason reason) {
+        rejects[reason.ordinal()]++;
+        rowsRejected++;
+        if (++rows == nextProgress) {
+            reportProgress();
+        }
+    }
+
+    void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    // Wraps the stream so bytes read through it are counted
+    InputStream count(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    bytesRead++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    bytesRead += read;
+                }
+                return read;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                bytesRead += skipped;
+                return skipped;
+            }
+        };
+    }
+
+    // Adds the counts and bytes of another tracker (a finished chunk) and reports progress
+    // if an interval boundary was crossed
+    void merge(LoadTracker chunk) {
+        for (int i = 0; i < rejects.length; i++) {
+            rejects[i] += chunk.rejects[i];
+        }
+        rowsRejected += chunk.rowsRejected;
+        rows += chunk.rows;
+        bytesRead += chunk.bytesRead;
+        if (rows >= nextProgress) {
+            reportProgress();
+        }
+    }
+
+    long getRowsAccepted() {
+        return rows - rowsRejected;
+    }
+
+    long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    // The final report of the read
+    LoadReport finish() {
+        return report(true);
+    }
+
+    private void reportProgress() {
+        nextProgress = (rows / PROGRESS_INTERVAL + 1) * PROGRESS_INTERVAL;
+        progress.accept(report(false));
+    }
+
+    private LoadReport report(boolean complete) {
+        return new LoadReport(file, rows - rowsRejected, rejects.clone(), bytesRead, totalBytes,
+                              System.nanoTime() - startNanos, complete);
+    }
+}
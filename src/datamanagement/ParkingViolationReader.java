@@ -1,7 +1,13 @@
 package datamanagement;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 import common.ParkingViolation;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -10,20 +16,42 @@ import org.json.simple.parser.ParseException;
 
 // Reads parking violations from CSV or JSON files
 public class ParkingViolationReader {
+
+    // Chunks smaller than this are not worth handing to another thread
+    private static final long MIN_CHUNK_SIZE = 4L << 20;
+
+    // Chunks per pool thread, so a slow chunk doesn't leave the other threads idle
+    private static final int CHUNKS_PER_THREAD = 4;
     
     // Reads parking violations from a CSV file
     public static List<ParkingViolation> readFromCSV(String filename) throws IOException {
+        return readFromCSV(filename, null).getData();
+    }
+
+    // Reads parking violations from a CSV file, counting skipped lines by reason and passing
+    // a progress report to progress (if not null) every LoadTracker.PROGRESS_INTERVAL lines
+    public static LoadResult<List<ParkingViolation>> readFromCSV(String filename, Consumer<LoadReport> progress)
+            throws IOException {
 
         List<ParkingViolation> violations = new ArrayList<>();
+        IngestionEvent event = new IngestionEvent();
+        event.begin();
+        LoadTracker tracker = new LoadTracker(filename, progress);
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(tracker.count(new FileInputStream(filename))))) {
             String line;
             while ((line = reader.readLine()) != null) {
+                // Skip blank lines without counting them; they aren't rows
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
                 try {
                     String[] fields = parseCSVLine(line);
                     
                     // Skip lines that don't have exactly 7 fields
                     if (fields.length != 7) {
+                        tracker.rejected(RejectReason.WRONG_FIELD_COUNT);
                         continue;
                     }
                     
@@ -41,43 +69,217 @@ public class ParkingViolationReader {
                     try {
                         fine = Double.parseDouble(fineStr);
                     } catch (NumberFormatException e) {
+                        tracker.rejected(RejectReason.INVALID_FINE);
                         continue; // Skip invalid fine values
                     }
                     
                     // Extract first 5 digits of ZIP code, or set to null if empty
-                    String normalizedZipCode = null;
-                    if (zipCode != null && !zipCode.isEmpty()) {
-                        if (zipCode.length() >= 5) {
-                            normalizedZipCode = zipCode.substring(0, 5);
-                        } else {
-                            normalizedZipCode = zipCode;
-                        }
-                    }
+                    String normalizedZipCode = normalizeZipCode(zipCode);
                     
                     // Create ParkingViolation object
                     ParkingViolation violation = new ParkingViolation(
                         timestamp, fine, description, vehicleId, state, violationId, normalizedZipCode
                     );
                     violations.add(violation);
+                    tracker.accepted();
                     
                 } catch (Exception e) {
                     // Skip invalid lines gracefully
+                    tracker.rejected(RejectReason.MALFORMED);
                     continue;
                 }
             }
         }
         
-        return violations;
+        event.finish(filename, "csv", tracker.getRowsAccepted(), tracker.getRowsRejected());
+        return new LoadResult<>(violations, tracker.finish());
+    }
+
+    // Reads parking violations from a CSV file by memory-mapping it and scanning
+    // the bytes directly. Produces the same violations as readFromCSV, but without
+    // building a String per line and a StringBuilder per field.
+    public static List<ParkingViolation> readFromCSVMapped(String filename) throws IOException {
+        return readFromCSVMapped(filename, null).getData();
+    }
+
+    // readFromCSVMapped with a load report and optional progress, as for readFromCSV.
+    // Bytes read advance one mapped window (256 MB) at a time.
+    public static LoadResult<List<ParkingViolation>> readFromCSVMapped(String filename,
+                                                                       Consumer<LoadReport> progress)
+            throws IOException {
+        return readFromCSVMapped(filename, progress, ViolationByteScanner.DEFAULT_WINDOW_SIZE);
+    }
+
+    // readFromCSVMapped that maps at most windowSize bytes at a time (a longer line still
+    // gets a window of its own), for address-space-limited JVMs and for testing lines that
+    // cross a window boundary
+    public static LoadResult<List<ParkingViolation>> readFromCSVMapped(String filename,
+                                                                       Consumer<LoadReport> progress,
+                                                                       int windowSize)
+            throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+
+        List<ParkingViolation> violations = new ArrayList<>();
+        IngestionEvent event = new IngestionEvent();
+        event.begin();
+        LoadTracker tracker = new LoadTracker(filename, progress);
+
+        try (RandomAccessFile file = new RandomAccessFile(filename, "r");
+             FileChannel channel = file.getChannel()) {
+            new ViolationByteScanner(tracker, windowSize).scan(channel, 0, channel.size(), violations);
+        }
+
+        event.finish(filename, "csv (mapped)", tracker.getRowsAccepted(), tracker.getRowsRejected());
+        return new LoadResult<>(violations, tracker.finish());
+    }
+
+    // Reads parking violations from a CSV file on the common fork-join pool
+    public static List<ParkingViolation> readFromCSVParallel(String filename, boolean preserveOrder)
+            throws IOException {
+        return readFromCSVParallel(filename, preserveOrder, ForkJoinPool.commonPool());
+    }
+
+    // Reads parking violations from a CSV file by splitting it into byte ranges that
+    // start on line boundaries and scanning the ranges on the given pool.
+    // Since readFromCSV ends a record at every line break, even inside quotes, any
+    // line break is a safe place to split and the rows match readFromCSV exactly.
+    // With preserveOrder the rows keep their file order; otherwise chunks are
+    // appended in the order they finish.
+    public static List<ParkingViolation> readFromCSVParallel(String filename, boolean preserveOrder,
+                                                             ForkJoinPool pool) throws IOException {
+        return readFromCSVParallel(filename, preserveOrder, pool, null).getData();
+    }
+
+    // readFromCSVParallel with a load report and optional progress. Each chunk is counted on
+    // its own and added to the report when it finishes, so progress is reported from the pool
+    // threads (one at a time) as finished chunks cross a LoadTracker.PROGRESS_INTERVAL boundary.
+    public static LoadResult<List<ParkingViolation>> readFromCSVParallel(String filename, boolean preserveOrder,
+                                                                         ForkJoinPool pool,
+                                                                         Consumer<LoadReport> progress)
+            throws IOException {
+        return readFromCSVParallel(filename, preserveOrder, pool, progress, MIN_CHUNK_SIZE);
+    }
+
+    // readFromCSVParallel that doesn't split the file into chunks smaller than minChunkSize
+    // bytes (a chunk can still be smaller when the file is); small values let small files run
+    // as several chunks, e.g. in tests
+    public static LoadResult<List<ParkingViolation>> readFromCSVParallel(String filename, boolean preserveOrder,
+                                                                         ForkJoinPool pool,
+                                                                         Consumer<LoadReport> progress,
+                                                                         long minChunkSize)
+            throws IOException {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        if (minChunkSize <= 0) {
+            throw new IllegalArgumentException("Minimum chunk size must be positive");
+        }
+        IngestionEvent event = new IngestionEvent();
+        event.begin();
+        LoadTracker tracker = new LoadTracker(filename, progress);
+
+        try (RandomAccessFile file = new RandomAccessFile(filename, "r");
+             FileChannel channel = file.getChannel()) {
+            long[] boundaries = chunkBoundaries(channel, pool.getParallelism() * CHUNKS_PER_THREAD, minChunkSize);
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            List<ParkingViolation>[] chunks = new List[boundaries.length - 1];
+            Queue<Integer> completionOrder = new ConcurrentLinkedQueue<>();
+
+            try {
+                pool.invoke(new ChunkTask(channel, boundaries, chunks, tracker, completionOrder, 0, chunks.length));
+            } catch (UncheckedIOException e) {
+                // the pool may rethrow a copy that wraps the worker's exception
+                Throwable cause = e;
+                while (cause instanceof UncheckedIOException) {
+                    cause = cause.getCause();
+                }
+                throw cause instanceof IOException ? (IOException) cause : new IOException(e);
+            }
+
+            int total = 0;
+            for (List<ParkingViolation> chunk : chunks) {
+                total += chunk.size();
+            }
+            List<ParkingViolation> violations = new ArrayList<>(total);
+            if (preserveOrder) {
+                for (List<ParkingViolation> chunk : chunks) {
+                    violations.addAll(chunk);
+                }
+            } else {
+                for (int index : completionOrder) {
+                    violations.addAll(chunks[index]);
+                }
+            }
+            event.finish(filename, "csv (parallel)", tracker.getRowsAccepted(), tracker.getRowsRejected());
+            return new LoadResult<>(violations, tracker.finish());
+        }
+    }
+
+    // Helper: Splits the file into at most maxChunks ranges, each starting at the beginning of a line
+    private static long[] chunkBoundaries(FileChannel channel, int maxChunks, long minChunkSize)
+            throws IOException {
+        long size = channel.size();
+        int chunkCount = (int) Math.max(1, Math.min(maxChunks, size / minChunkSize));
+        long[] boundaries = new long[chunkCount + 1];
+        int count = 1;
+        for (int i = 1; i < chunkCount; i++) {
+            long boundary = nextLineStart(channel, size * i / chunkCount, size);
+            // a very long line can swallow the next nominal split point
+            if (boundary > boundaries[count - 1] && boundary < size) {
+                boundaries[count++] = boundary;
+            }
+        }
+        boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    // Helper: Returns the offset just past the first line break at or after position (CRLF counts as one)
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        boolean afterCarriageReturn = false;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (afterCarriageReturn) {
+                    return b == '\n' ? position + i + 1 : position + i;
+                }
+                if (b == '\n') {
+                    return position + i + 1;
+                }
+                if (b == '\r') {
+                    afterCarriageReturn = true;
+                }
+            }
+            position += read;
+        }
+        return size;
     }
 
     // Reads parking violations from a JSON file
     public static List<ParkingViolation> readFromJSON(String filename) throws IOException {
+        return readFromJSON(filename, null).getData();
+    }
+
+    // readFromJSON with a load report and optional progress. The whole document is parsed
+    // before any row is built, so progress only starts once parsing is done.
+    public static LoadResult<List<ParkingViolation>> readFromJSON(String filename, Consumer<LoadReport> progress)
+            throws IOException {
 
         List<ParkingViolation> violations = new ArrayList<>();
+        IngestionEvent event = new IngestionEvent();
+        event.begin();
+        LoadTracker tracker = new LoadTracker(filename, progress);
         
         try {
             JSONParser parser = new JSONParser();
-            FileReader fileReader = new FileReader(filename);
+            Reader fileReader = new InputStreamReader(tracker.count(new FileInputStream(filename)));
             Object obj = parser.parse(fileReader);
             fileReader.close();
             
@@ -92,7 +294,13 @@ public class ParkingViolationReader {
                             
                             // Extract fields from JSON object
                             String timestamp = getStringValue(jsonObject, "timestamp");
-                            double fine = getDoubleValue(jsonObject, "fine");
+                            double fine;
+                            try {
+                                fine = getDoubleValue(jsonObject, "fine");
+                            } catch (NumberFormatException e) {
+                                tracker.rejected(RejectReason.INVALID_FINE);
+                                continue; // Skip invalid fine values, like the CSV readers
+                            }
                             String description = getStringValue(jsonObject, "description");
                             String vehicleId = getStringValue(jsonObject, "vehicle_id");
                             String state = getStringValue(jsonObject, "state");
@@ -100,23 +308,20 @@ public class ParkingViolationReader {
                             String zipCode = getStringValue(jsonObject, "zip_code");
                             
                             // Extract first 5 digits of ZIP code, or set to null if empty
-                            String normalizedZipCode = null;
-                            if (zipCode != null && !zipCode.isEmpty()) {
-                                if (zipCode.length() >= 5) {
-                                    normalizedZipCode = zipCode.substring(0, 5);
-                                } else {
-                                    normalizedZipCode = zipCode;
-                                }
-                            }
+                            String normalizedZipCode = normalizeZipCode(zipCode);
                             
                             // Create ParkingViolation object
                             ParkingViolation violation = new ParkingViolation(
                                 timestamp, fine, description, vehicleId, state, violationId, normalizedZipCode
                             );
                             violations.add(violation);
+                            tracker.accepted();
+                        } else {
+                            tracker.rejected(RejectReason.NOT_AN_OBJECT);
                         }
                     } catch (Exception e) {
                         // Skip invalid entries gracefully
+                        tracker.rejected(RejectReason.MALFORMED);
                         continue;
                     }
                 }
@@ -125,9 +330,56 @@ public class ParkingViolationReader {
             throw new IOException("Error parsing JSON file: " + e.getMessage(), e);
         }
         
+        event.finish(filename, "json", tracker.getRowsAccepted(), tracker.getRowsRejected());
+        return new LoadResult<>(violations, tracker.finish());
+    }
+
+    // Reads parking violations from a JSON file without building the whole document in memory
+    public static List<ParkingViolation> readFromJSONStreaming(String filename) throws IOException {
+
+        List<ParkingViolation> violations = new ArrayList<>();
+        readFromJSONStreaming(filename, violations::add);
         return violations;
     }
 
+    // Streams parking violations from a JSON file to the consumer as each object is parsed.
+    // Walks the top-level array one object at a time and keeps only the seven known keys,
+    // so memory stays flat regardless of file size. Yields the same violations as readFromJSON.
+    public static void readFromJSONStreaming(String filename, Consumer<ParkingViolation> consumer)
+            throws IOException {
+        readFromJSONStreaming(filename, consumer, null);
+    }
+
+    // readFromJSONStreaming that also counts skipped elements, passes progress reports to
+    // progress (if not null) and returns the final report
+    public static LoadReport readFromJSONStreaming(String filename, Consumer<ParkingViolation> consumer,
+                                                   Consumer<LoadReport> progress) throws IOException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+
+        IngestionEvent event = new IngestionEvent();
+        event.begin();
+        LoadTracker tracker = new LoadTracker(filename, progress);
+
+        try (Reader fileReader = new BufferedReader(
+                new InputStreamReader(tracker.count(new FileInputStream(filename))))) {
+            new JSONParser().parse(fileReader, new ViolationJSONHandler(consumer, tracker));
+        } catch (ParseException e) {
+            throw new IOException("Error parsing JSON file: " + e.getMessage(), e);
+        }
+        event.finish(filename, "json (streaming)", tracker.getRowsAccepted(), tracker.getRowsRejected());
+        return tracker.finish();
+    }
+
+    // Helper: Extracts first 5 digits of ZIP code, or returns null if empty
+    static String normalizeZipCode(String zipCode) {
+        if (zipCode == null || zipCode.isEmpty()) {
+            return null;
+        }
+        return zipCode.length() >= 5 ? zipCode.substring(0, 5) : zipCode;
+    }
+
     // Helper: Gets string value from JSON object
     private static String getStringValue(JSONObject obj, String key) {
         Object value = obj.get(key);
@@ -137,20 +389,17 @@ public class ParkingViolationReader {
         return value.toString();
     }
 
-    // Helper: Gets double value from JSON object
+    // Helper: Gets double value from JSON object, 0.0 if it is missing
+    // (NumberFormatException if it is not a number)
     private static double getDoubleValue(JSONObject obj, String key) {
         Object value = obj.get(key);
         if (value == null) {
             return 0.0;
         }
-        try {
-            if (value instanceof Number) {
-                return ((Number) value).doubleValue();
-            } else {
-                return Double.parseDouble(value.toString());
-            }
-        } catch (NumberFormatException e) {
-            return 0.0;
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else {
+            return Double.parseDouble(value.toString());
         }
     }
 
@@ -188,5 +437,50 @@ public class ParkingViolationReader {
         
         return fields.toArray(new String[0]);
     }
-}
 
+    // Scans chunks [from, to) of the file, splitting the work in half until one chunk is left
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final List<ParkingViolation>[] chunks;
+        private final LoadTracker tracker;
+        private final Queue<Integer> completionOrder;
+        private final int from;
+        private final int to;
+
+        ChunkTask(FileChannel channel, long[] boundaries, List<ParkingViolation>[] chunks, LoadTracker tracker,
+                  Queue<Integer> completionOrder, int from, int to) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.chunks = chunks;
+            this.tracker = tracker;
+            this.completionOrder = completionOrder;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                List<ParkingViolation> chunk = new ArrayList<>();
+                LoadTracker chunkTracker = new LoadTracker(null, null);
+                try {
+                    new ViolationByteScanner(chunkTracker).scan(channel, boundaries[from], boundaries[to], chunk);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                chunks[from] = chunk;
+                synchronized (tracker) {
+                    tracker.merge(chunkTracker);
+                }
+                completionOrder.add(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(channel, boundaries, chunks, tracker, completionOrder, from, middle),
+                      new ChunkTask(channel, boundaries, chunks, tracker, completionOrder, middle, to));
+        }
+    }
+}
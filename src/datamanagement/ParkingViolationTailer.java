@@ -0,0 +1,260 @@
+package datamanagement;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import common.ParkingViolation;
+
+// Follows a parking violations CSV file that is still being appended to, like tail -f.
+// The file stays open between polls and each poll() parses only the complete lines
+// written since the last fully parsed byte offset, using the same rules as
+// readFromCSV, and hands them to the sink as one batch. A partly written last line
+// is left for a later poll.
+// If the file becomes shorter than the offset, or its first bytes change, it was
+// truncated and is read again from the start. If the path now names a different file
+// it was rotated: the rest of the old file is read first, then the new file from the start.
+// With a checkpoint file, the offset is saved after every batch the sink accepts,
+// so a new tailer on the same file resumes where the last one stopped. A caller that
+// keeps the delivered rows elsewhere can instead save the offset along with them
+// (saveCheckpoint) and resume from it later (resume).
+public class ParkingViolationTailer implements Closeable {
+
+    // Bytes read at a time while looking back for the last line break
+    private static final int SEARCH_BLOCK_SIZE = 8192;
+    // Bytes at the start of the file whose checksum is kept; a file truncated and written
+    // past the offset again between two polls has the same size rule but new first bytes
+    private static final int HEAD_SIZE = 4096;
+
+    private final Path path;
+    private final Path checkpoint;
+    private final Consumer<List<ParkingViolation>> sink;
+    private final ViolationByteScanner scanner = new ViolationByteScanner();
+
+    private RandomAccessFile file;
+    private FileChannel channel;
+    // identity of the open file (inode on Unix), or null if the platform has none
+    private Object fileKey;
+    private long offset;
+    // checksum of the first headLength bytes already read, or headLength 0 before any
+    private int headLength;
+    private long headChecksum;
+
+    // Opens the file; checkpointFilename may be null to always start at the beginning
+    public ParkingViolationTailer(String filename, String checkpointFilename,
+                                  Consumer<List<ParkingViolation>> sink) throws IOException {
+        if (filename == null || filename.trim().isEmpty()) {
+            throw new IllegalArgumentException("Filename cannot be null or empty");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        this.path = Paths.get(filename);
+        this.checkpoint = checkpointFilename == null ? null : Paths.get(checkpointFilename);
+        this.sink = sink;
+        open();
+        if (checkpoint != null) {
+            resume(checkpoint);
+        }
+    }
+
+    // Parses the complete lines appended since the last poll and passes them to the sink.
+    // Returns the number of violations delivered.
+    public synchronized int poll() throws IOException {
+        if (channel == null) {
+            throw new IOException("Tailer is closed");
+        }
+        int delivered = 0;
+        Object currentKey = currentFileKey();
+        if (currentKey != null && fileKey != null && !currentKey.equals(fileKey)) {
+            // rotated: finish the old file, then switch to the new one
+            delivered += readAppended();
+            close();
+            open();
+            offset = 0;
+            headLength = 0;
+        } else if (channel.size() < offset || !headMatches()) {
+            // truncated, and perhaps written past the offset again since the last poll
+            offset = 0;
+            headLength = 0;
+        }
+        delivered += readAppended();
+        return delivered;
+    }
+
+    // Byte offset just past the last line handed to the sink
+    public synchronized long getOffset() {
+        return offset;
+    }
+
+    // Continues from the offset saved in a checkpoint file if it belongs to the open file,
+    // and returns whether it did. A missing checkpoint, or one of a different, shorter or
+    // rewritten file, leaves the offset alone.
+    public synchronized boolean resume(String checkpointFilename) throws IOException {
+        if (checkpointFilename == null) {
+            throw new IllegalArgumentException("Checkpoint filename cannot be null");
+        }
+        return resume(Paths.get(checkpointFilename));
+    }
+
+    // Saves the offset to a checkpoint file, e.g. together with the rows delivered so far
+    public synchronized void saveCheckpoint(String checkpointFilename) throws IOException {
+        if (checkpointFilename == null) {
+            throw new IllegalArgumentException("Checkpoint filename cannot be null");
+        }
+        saveCheckpoint(Paths.get(checkpointFilename));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (file != null) {
+            file.close();
+            file = null;
+            channel = null;
+        }
+    }
+
+    // Helper: Opens the file at the path and remembers which file it is
+    private void open() throws IOException {
+        file = new RandomAccessFile(path.toFile(), "r");
+        channel = file.getChannel();
+        fileKey = currentFileKey();
+    }
+
+    // Helper: Returns the identity of the file now at the path, or null if there is none
+    private Object currentFileKey() throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        } catch (NoSuchFileException e) {
+            // rotated away and not recreated yet; keep reading the open file
+            return null;
+        }
+    }
+
+    // Helper: Scans the complete lines in [offset, size) and delivers them
+    private int readAppended() throws IOException {
+        long size = channel.size();
+        long end = afterLastLineBreak(offset, size);
+        if (end <= offset) {
+            return 0;
+        }
+        List<ParkingViolation> batch = new ArrayList<>();
+        scanner.scan(channel, offset, end, batch);
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+        offset = end;
+        if (headLength < HEAD_SIZE) {
+            headLength = (int) Math.min(offset, HEAD_SIZE);
+            headChecksum = checksum(headLength);
+        }
+        if (checkpoint != null) {
+            saveCheckpoint(checkpoint);
+        }
+        return batch.size();
+    }
+
+    // Helper: Returns the offset just past the last CR or LF in [from, to), or from if there is none.
+    // A CR at the very end may still be followed by an LF; that LF then reads as an empty line,
+    // which is skipped like any other blank line.
+    private long afterLastLineBreak(long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SEARCH_BLOCK_SIZE);
+        long blockEnd = to;
+        while (blockEnd > from) {
+            long blockStart = Math.max(from, blockEnd - SEARCH_BLOCK_SIZE);
+            buffer.clear();
+            buffer.limit((int) (blockEnd - blockStart));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, blockStart + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                byte b = buffer.get(i);
+                if (b == '\n' || b == '\r') {
+                    return blockStart + i + 1;
+                }
+            }
+            blockEnd = blockStart;
+        }
+        return from;
+    }
+
+    // Helper: Returns whether the first bytes already read are unchanged
+    private boolean headMatches() throws IOException {
+        return headLength == 0 || checksum(headLength) == headChecksum;
+    }
+
+    // Helper: Returns the CRC-32 of the first length bytes of the file, or -1 if it is shorter
+    private long checksum(int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                return -1;
+            }
+        }
+        buffer.flip();
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        return crc.getValue();
+    }
+
+    // Helper: Loads the saved offset if it belongs to the open file
+    private boolean resume(Path checkpointPath) throws IOException {
+        if (!Files.exists(checkpointPath)) {
+            return false;
+        }
+        List<String> lines = Files.readAllLines(checkpointPath, StandardCharsets.UTF_8);
+        long savedOffset;
+        String savedKey;
+        int savedHeadLength;
+        long savedHeadChecksum;
+        try {
+            savedOffset = Long.parseLong(value(lines, "offset"));
+            savedKey = value(lines, "fileKey");
+            savedHeadLength = Integer.parseInt(value(lines, "headLength"));
+            savedHeadChecksum = Long.parseLong(value(lines, "headChecksum"));
+        } catch (NumberFormatException | NoSuchElementException e) {
+            throw new IOException("Invalid checkpoint file: " + checkpointPath, e);
+        }
+        // a different, shorter or rewritten file means the checkpoint is stale
+        boolean sameFile = fileKey == null || savedKey.isEmpty() || savedKey.equals(fileKey.toString());
+        if (!sameFile || savedOffset < 0 || savedOffset > channel.size()
+                || savedHeadLength < 0 || savedHeadLength > Math.min(savedOffset, HEAD_SIZE)
+                || (savedHeadLength > 0 && checksum(savedHeadLength) != savedHeadChecksum)) {
+            return false;
+        }
+        offset = savedOffset;
+        headLength = savedHeadLength;
+        headChecksum = savedHeadChecksum;
+        return true;
+    }
+
+    // Helper: Writes the offset to a temporary file and moves it over the checkpoint
+    private void saveCheckpoint(Path checkpointPath) throws IOException {
+        String content = "offset=" + offset + "\nfileKey=" + (fileKey == null ? "" : fileKey.toString())
+                + "\nheadLength=" + headLength + "\nheadChecksum=" + headChecksum + "\n";
+        Path temporary = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        Files.write(temporary, content.getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temporary, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, checkpointPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Helper: Returns the value of a "key=value" line
+    private static String value(List<String> lines, String key) {
+        for (String line : lines) {
+            if (line.startsWith(key + "=")) {
+                return line.substring(key.length() + 1).trim();
+            }
+        }
+        throw new NoSuchElementException(key);
+    }
+}
@@ -2,9 +2,17 @@ package datamanagement;
 
 import java.io.*;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class PopulationReader {
     public static Map<String, Integer> readFromFile(String filename) throws IOException {
+        return readFromFile(filename, null).getData();
+    }
+
+    // Reads population data, counting skipped lines by reason and passing a progress report
+    // to progress (if not null) every LoadTracker.PROGRESS_INTERVAL lines. Blank lines are not rows.
+    public static LoadResult<Map<String, Integer>> readFromFile(String filename, Consumer<LoadReport> progress)
+            throws IOException {
         // this function reads population data from a file; each line contains: zip_code and population
         // returns a map from zip code to population
         if (filename == null || filename.trim().isEmpty()) {
@@ -12,8 +20,12 @@ public class PopulationReader {
         }
         
         Map<String, Integer> populationMap = new HashMap<>();
+        IngestionEvent event = new IngestionEvent();
+        event.begin();
+        LoadTracker tracker = new LoadTracker(filename, progress);
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(tracker.count(new FileInputStream(filename))))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 line = line.trim();
@@ -34,15 +46,20 @@ public class PopulationReader {
                         int population = Integer.parseInt(parts[1].trim());
                         // add to map (ZIP code -> population)
                         populationMap.put(zipCode, population);
+                        tracker.accepted();
                     } catch (NumberFormatException e) {
                         // handle invalid lines gracefully (skip them)
+                        tracker.rejected(RejectReason.INVALID_POPULATION);
                         continue;
                     }
+                } else {
+                    tracker.rejected(RejectReason.WRONG_FIELD_COUNT);
                 }
             }
         }
         
-        return populationMap;
+        event.finish(filename, "population", tracker.getRowsAccepted(), tracker.getRowsRejected());
+        return new LoadResult<>(populationMap, tracker.finish());
     }
 }
 
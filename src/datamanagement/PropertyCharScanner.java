@@ -0,0 +1,225 @@
+package datamanagement;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+import common.Property;
+
+// Scans property CSV rows straight from a char buffer, decoding only the
+// market_value, total_livable_area and zip_code columns. Other columns are
+// stepped over without allocating, and scanning of a row stops at the last
+// needed column except for finding the line break.
+// Follows PropertyReader's rules: CR, LF and CRLF end a row, quotes protect
+// commas and are dropped, rows shorter than the last needed column are skipped.
+final class PropertyCharScanner {
+
+    private static final int MARKET_VALUE = 0;
+    private static final int TOTAL_LIVABLE_AREA = 1;
+    private static final int ZIP_CODE = 2;
+
+    // column index -> slot above, or -1 for columns that are skipped
+    private final int[] slotForColumn;
+    private final int lastColumn;
+
+    private final int[] slotStarts = new int[3];
+    private final int[] slotEnds = new int[3];
+    private final boolean[] slotQuoted = new boolean[3];
+
+    // number of columns seen in the last scanned row (stops counting past the last needed one)
+    private int rowColumns;
+
+    private char[] buffer = new char[1 << 16];
+    private char[] scratch = new char[64];
+    // counts accepted and skipped rows
+    private final LoadTracker tracker;
+
+    PropertyCharScanner(int marketValueIndex, int totalLivableAreaIndex, int zipCodeIndex, LoadTracker tracker) {
+        this.tracker = tracker;
+        this.lastColumn = Math.max(marketValueIndex, Math.max(totalLivableAreaIndex, zipCodeIndex));
+        this.slotForColumn = new int[lastColumn + 1];
+        Arrays.fill(slotForColumn, -1);
+        slotForColumn[marketValueIndex] = MARKET_VALUE;
+        slotForColumn[totalLivableAreaIndex] = TOTAL_LIVABLE_AREA;
+        slotForColumn[zipCodeIndex] = ZIP_CODE;
+    }
+
+    // Reads rows until the end of the reader and adds one Property per usable row
+    void scan(Reader reader, List<Property> out) throws IOException {
+        int start = 0;
+        int limit = 0;
+        boolean endOfInput = false;
+        boolean skipLineFeed = false;
+
+        while (true) {
+            if (skipLineFeed && start < limit) {
+                skipLineFeed = false;
+                if (buffer[start] == '\n') {
+                    start++;
+                }
+            }
+            int end = start < limit ? scanRow(start, limit) : -1;
+            if (end < 0) {
+                // the row continues past the buffered chars
+                if (endOfInput) {
+                    // last row without a line break
+                    if (start < limit && !isBlank(start, limit)) {
+                        addProperty(out);
+                    }
+                    return;
+                }
+                if (start > 0) {
+                    System.arraycopy(buffer, start, buffer, 0, limit - start);
+                    limit -= start;
+                    start = 0;
+                } else if (limit == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                int read = reader.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    endOfInput = true;
+                } else {
+                    limit += read;
+                }
+                continue;
+            }
+            // blank rows aren't counted
+            if (!isBlank(start, end)) {
+                addProperty(out);
+            }
+            skipLineFeed = buffer[end] == '\r';
+            start = end + 1;
+        }
+    }
+
+    // Locates the needed columns of the row starting at from. Returns the index of
+    // the line break ending the row, or -1 if there is none before to.
+    private int scanRow(int from, int to) {
+        int column = 0;
+        int columnStart = from;
+        boolean inQuotes = false;
+        boolean quoted = false;
+        for (int i = from; i < to; i++) {
+            char c = buffer[i];
+            if (c == '\n' || c == '\r') {
+                endColumn(column, columnStart, i, quoted);
+                rowColumns = column + 1;
+                return i;
+            }
+            if (column > lastColumn) {
+                continue; // past the last needed column, just looking for the line break
+            }
+            if (c == '"') {
+                inQuotes = !inQuotes;
+                quoted = true;
+            } else if (c == ',' && !inQuotes) {
+                endColumn(column, columnStart, i, quoted);
+                column++;
+                columnStart = i + 1;
+                quoted = false;
+            }
+        }
+        endColumn(column, columnStart, to, quoted);
+        rowColumns = column + 1;
+        return -1;
+    }
+
+    // Returns whether buffer[from, to) is empty or only whitespace, as String.trim() sees it
+    private boolean isBlank(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void endColumn(int column, int start, int end, boolean quoted) {
+        if (column <= lastColumn && slotForColumn[column] >= 0) {
+            int slot = slotForColumn[column];
+            slotStarts[slot] = start;
+            slotEnds[slot] = end;
+            slotQuoted[slot] = quoted;
+        }
+    }
+
+    private void addProperty(List<Property> out) {
+        if (rowColumns <= lastColumn) {
+            tracker.rejected(RejectReason.WRONG_FIELD_COUNT);
+            return;
+        }
+
+        int length = copySlot(ZIP_CODE);
+        int zipStart = trimStart(length);
+        int zipEnd = trimEnd(zipStart, length);
+        if (zipStart == zipEnd) {
+            tracker.rejected(RejectReason.MISSING_ZIP_CODE);
+            return; // skip if no ZIP code
+        }
+        // extract first 5 digits of ZIP code
+        String zipCode = new String(scratch, zipStart, Math.min(5, zipEnd - zipStart));
+
+        Double marketValue = parsePositive(MARKET_VALUE);
+        Double totalLivableArea = parsePositive(TOTAL_LIVABLE_AREA);
+
+        out.add(new Property(zipCode, marketValue, totalLivableArea));
+        tracker.accepted();
+    }
+
+    // Parses a numeric column; null if empty, not a number or not positive
+    private Double parsePositive(int slot) {
+        int length = copySlot(slot);
+        int start = trimStart(length);
+        int end = trimEnd(start, length);
+        if (start == end) {
+            return null;
+        }
+        try {
+            double d = DecimalParser.parse(scratch, start, end - start);
+            if (d > 0) {
+                return d;
+            }
+        } catch (NumberFormatException e) {
+            // not a valid number
+        }
+        return null;
+    }
+
+    // Copies a located column into scratch, dropping quote characters; returns its length
+    private int copySlot(int slot) {
+        int start = slotStarts[slot];
+        int end = slotEnds[slot];
+        if (scratch.length < end - start) {
+            scratch = new char[Math.max(end - start, scratch.length * 2)];
+        }
+        if (!slotQuoted[slot]) {
+            System.arraycopy(buffer, start, scratch, 0, end - start);
+            return end - start;
+        }
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char c = buffer[i];
+            if (c != '"') {
+                scratch[length++] = c;
+            }
+        }
+        return length;
+    }
+
+    // String.trim() bounds over scratch[0, length)
+    private int trimStart(int length) {
+        int start = 0;
+        while (start < length && scratch[start] <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimEnd(int start, int length) {
+        int end = length;
+        while (end > start && scratch[end - 1] <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
@@ -2,21 +2,33 @@ package datamanagement;
 
 import java.io.*;
 import java.util.*;
+import java.util.function.Consumer;
 import common.Property;
 
 public class PropertyReader {
     public static List<Property> readFromCSV(String filename) throws IOException {
+        return readFromCSV(filename, null).getData();
+    }
+
+    // Reads properties, counting skipped rows by reason and passing a progress report to
+    // progress (if not null) every LoadTracker.PROGRESS_INTERVAL rows. The header is not a row.
+    public static LoadResult<List<Property>> readFromCSV(String filename, Consumer<LoadReport> progress)
+            throws IOException {
         if (filename == null || filename.trim().isEmpty()) {
             throw new IllegalArgumentException("Filename cannot be null or empty");
         }
         
         List<Property> properties = new ArrayList<>();
+        IngestionEvent event = new IngestionEvent();
+        event.begin();
+        LoadTracker tracker = new LoadTracker(filename, progress);
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(tracker.count(new FileInputStream(filename))))) {
             // read header row to find column indices for market_value, total_livable_area, and zip_code
             String headerLine = reader.readLine();
             if (headerLine == null) {
-                return properties;
+                return new LoadResult<>(properties, tracker.finish());
             }
             
             String[] headers = parseCSVLine(headerLine);
@@ -40,52 +52,13 @@ public class PropertyReader {
                 throw new IOException("Required columns not found in CSV header");
             }
             
-            // read data rows and extract values from appropriate columns
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] fields = parseCSVLine(line);
-                
-                if (fields.length > Math.max(marketValueIndex, Math.max(totalLivableAreaIndex, zipCodeIndex))) {
-                    String zipCode = fields[zipCodeIndex].trim();
-                    // extract first 5 digits of ZIP code
-                    if (!zipCode.isEmpty() && zipCode.length() >= 5) {
-                        zipCode = zipCode.substring(0, 5);
-                    } else if (zipCode.isEmpty()) {
-                        // skip if no ZIP code
-                        continue;
-                    }
-                    
-                    // parse market value
-                    Double marketValue = parseDouble(fields[marketValueIndex].trim());
-                    // parse total livable area
-                    Double totalLivableArea = parseDouble(fields[totalLivableAreaIndex].trim());
-                    
-                    properties.add(new Property(zipCode, marketValue, totalLivableArea));
-                }
-            }
-        }
-        
-        return properties;
-    }
-
-    private static Double parseDouble(String value) {
-        // return null if value is null or empty
-        if (value == null || value.trim().isEmpty()) {
-            return null;
-        }
-        
-        // try to parse as double
-        // return the value if positive, otherwise return null
-        try {
-            double d = Double.parseDouble(value.trim());
-            if (d > 0) {
-                return d;
-            }
-        } catch (NumberFormatException e) {
-            // not a valid number
+            // read data rows, decoding only the three needed columns
+            new PropertyCharScanner(marketValueIndex, totalLivableAreaIndex, zipCodeIndex, tracker)
+                .scan(reader, properties);
         }
         
-        return null;
+        event.finish(filename, "properties", tracker.getRowsAccepted(), tracker.getRowsRejected());
+        return new LoadResult<>(properties, tracker.finish());
     }
 
     private static String[] parseCSVLine(String line) {
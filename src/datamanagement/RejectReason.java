@@ -0,0 +1,18 @@
+package datamanagement;
+
+// Why a reader skipped a line or JSON element instead of turning it into a row
+public enum RejectReason {
+    // CSV line with the wrong number of fields, or too few for the needed columns;
+    // population line without a ZIP code and a population
+    WRONG_FIELD_COUNT,
+    // Violation whose fine is not a number
+    INVALID_FINE,
+    // Property row with an empty zip_code column
+    MISSING_ZIP_CODE,
+    // Population line whose population is not an integer
+    INVALID_POPULATION,
+    // Element of the top-level JSON array that is not an object
+    NOT_AN_OBJECT,
+    // Any other value that couldn't be read
+    MALFORMED
+}
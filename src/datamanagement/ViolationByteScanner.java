@@ -0,0 +1,260 @@
+package datamanagement;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import common.ParkingViolation;
+
+// Scans parking violation CSV records straight out of a memory-mapped file.
+// Follows the same rules as ParkingViolationReader.readFromCSV: every CR, LF or
+// CRLF ends a record, quotes only protect commas, rows must have exactly 7
+// fields and a parsable fine, fields are trimmed and ZIP codes cut to 5 digits.
+// Only the final field values are turned into Strings.
+final class ViolationByteScanner {
+
+    private static final int FIELD_COUNT = 7;
+
+    // Largest region mapped at once by default; files larger than this are scanned window by window
+    static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+    private final int[] fieldStarts = new int[FIELD_COUNT];
+    private final int[] fieldEnds = new int[FIELD_COUNT];
+    private final boolean[] fieldQuoted = new boolean[FIELD_COUNT];
+    private byte[] scratch = new byte[256];
+    // counts accepted and skipped lines
+    private final LoadTracker tracker;
+    private final int windowSize;
+
+    ViolationByteScanner() {
+        this(new LoadTracker(null, null));
+    }
+
+    ViolationByteScanner(LoadTracker tracker) {
+        this(tracker, DEFAULT_WINDOW_SIZE);
+    }
+
+    ViolationByteScanner(LoadTracker tracker, int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        this.tracker = tracker;
+        this.windowSize = windowSize;
+    }
+
+    // Scans the records in [start, end) of the channel. start must be at the
+    // beginning of a record; end must be at the beginning of a record or at EOF.
+    void scan(FileChannel channel, long start, long end, List<ParkingViolation> out) throws IOException {
+        long position = start;
+        long window = windowSize;
+        while (position < end) {
+            long length = Math.min(window, end - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int limit = (int) length;
+            if (position + length < end) {
+                // only scan up to the last complete line in this window
+                limit = afterLastLineBreak(buffer, limit);
+                if (limit == 0) {
+                    if (window >= Integer.MAX_VALUE) {
+                        throw new IOException("Line at offset " + position + " is too long to map");
+                    }
+                    window = Math.min(window * 2, Integer.MAX_VALUE);
+                    continue;
+                }
+            }
+            scanRecords(buffer, 0, limit, out);
+            position += limit;
+            tracker.setBytesRead(position - start);
+        }
+    }
+
+    // Scans every record in buffer[from, to); a record without a trailing line break ends at to
+    void scanRecords(ByteBuffer buffer, int from, int to, List<ParkingViolation> out) {
+        int i = from;
+        while (i < to) {
+            int fieldCount = 0;
+            int fieldStart = i;
+            boolean inQuotes = false;
+            boolean quoted = false;
+            byte b = 0;
+            for (; i < to; i++) {
+                b = buffer.get(i);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                    quoted = true;
+                } else if (b == ',' && !inQuotes) {
+                    if (fieldCount < FIELD_COUNT) {
+                        fieldStarts[fieldCount] = fieldStart;
+                        fieldEnds[fieldCount] = i;
+                        fieldQuoted[fieldCount] = quoted;
+                    }
+                    fieldCount++;
+                    fieldStart = i + 1;
+                    quoted = false;
+                }
+            }
+            if (fieldCount < FIELD_COUNT) {
+                fieldStarts[fieldCount] = fieldStart;
+                fieldEnds[fieldCount] = i;
+                fieldQuoted[fieldCount] = quoted;
+            }
+            fieldCount++;
+
+            // step over the line break, treating CRLF as one
+            if (i < to) {
+                i++;
+                if (b == '\r' && i < to && buffer.get(i) == '\n') {
+                    i++;
+                }
+            }
+
+            // Skip blank lines without counting them; they aren't rows
+            if (fieldCount == 1 && isBlank(buffer, fieldStarts[0], fieldEnds[0])) {
+                continue;
+            }
+            // Skip lines that don't have exactly 7 fields
+            if (fieldCount != FIELD_COUNT) {
+                tracker.rejected(RejectReason.WRONG_FIELD_COUNT);
+                continue;
+            }
+            try {
+                ParkingViolation violation = toViolation(buffer);
+                if (violation != null) {
+                    out.add(violation);
+                    tracker.accepted();
+                } else {
+                    tracker.rejected(RejectReason.INVALID_FINE);
+                }
+            } catch (Exception e) {
+                // Skip invalid lines gracefully
+                tracker.rejected(RejectReason.MALFORMED);
+                continue;
+            }
+        }
+    }
+
+    // Helper: Returns whether buffer[from, to) is empty or only whitespace, as String.trim() sees it
+    private static boolean isBlank(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((buffer.get(i) & 0xff) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Builds a violation from the 7 located fields, or returns null if the fine is invalid
+    private ParkingViolation toViolation(ByteBuffer buffer) {
+        int length = copyField(buffer, 1);
+        double fine;
+        try {
+            fine = DecimalParser.parse(scratch, trimStart(length), trimmedLength(length));
+        } catch (NumberFormatException e) {
+            return null; // Skip invalid fine values
+        }
+
+        String timestamp = fieldString(buffer, 0);
+        String description = fieldString(buffer, 2);
+        String vehicleId = fieldString(buffer, 3);
+        String state = fieldString(buffer, 4);
+        String violationId = fieldString(buffer, 5);
+
+        // Extract first 5 digits of ZIP code, or set to null if empty
+        String normalizedZipCode = null;
+        length = copyField(buffer, 6);
+        int zipStart = trimStart(length);
+        int zipLength = trimmedLength(length);
+        if (zipLength > 0) {
+            if (zipLength >= 5 && isAscii(zipStart, 5)) {
+                normalizedZipCode = new String(scratch, zipStart, 5, StandardCharsets.US_ASCII);
+            } else {
+                String zipCode = new String(scratch, zipStart, zipLength, StandardCharsets.UTF_8);
+                normalizedZipCode = zipCode.length() >= 5 ? zipCode.substring(0, 5) : zipCode;
+            }
+        }
+
+        return new ParkingViolation(
+            timestamp, fine, description, vehicleId, state, violationId, normalizedZipCode
+        );
+    }
+
+    private String fieldString(ByteBuffer buffer, int field) {
+        int length = copyField(buffer, field);
+        return new String(scratch, trimStart(length), trimmedLength(length), StandardCharsets.UTF_8);
+    }
+
+    // Copies a field into scratch, removing quotes the same way parseCSVLine does; returns its length
+    private int copyField(ByteBuffer buffer, int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        if (scratch.length < end - start) {
+            scratch = new byte[Math.max(end - start, scratch.length * 2)];
+        }
+        int length = 0;
+        if (!fieldQuoted[field]) {
+            for (int i = start; i < end; i++) {
+                scratch[length++] = buffer.get(i);
+            }
+            return length;
+        }
+        boolean inQuotes = false;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                // escaped quotes (double quotes) inside a quoted section
+                if (inQuotes && i + 1 < end && buffer.get(i + 1) == '"') {
+                    scratch[length++] = '"';
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else {
+                scratch[length++] = b;
+            }
+        }
+        return length;
+    }
+
+    // String.trim() equivalent over scratch[0, length): start of the trimmed value
+    private int trimStart(int length) {
+        int start = 0;
+        while (start < length && (scratch[start] & 0xff) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimmedLength(int length) {
+        int start = trimStart(length);
+        int end = length;
+        while (end > start && (scratch[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+        return end - start;
+    }
+
+    private boolean isAscii(int start, int length) {
+        for (int i = start; i < start + length; i++) {
+            if (scratch[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns the index just past the last CR or LF in buffer[0, limit), or 0 if there is none
+    private static int afterLastLineBreak(ByteBuffer buffer, int limit) {
+        for (int i = limit - 1; i >= 0; i--) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,220 @@
+package datamanagement;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.Consumer;
+import common.ParkingViolation;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
+
+// Event handler for JSONParser that turns a top-level array of violation objects
+// into ParkingViolations one object at a time. Only the seven known keys are kept;
+// everything else is skipped as it streams past, so memory does not grow with the file.
+// Values are converted exactly like readFromJSON does with the parsed tree.
+class ViolationJSONHandler implements ContentHandler {
+
+    private static final int TIMESTAMP = 0;
+    private static final int FINE = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int VEHICLE_ID = 3;
+    private static final int STATE = 4;
+    private static final int VIOLATION_ID = 5;
+    private static final int ZIP_CODE = 6;
+
+    private final Consumer<ParkingViolation> consumer;
+
+    private int depth;
+    private boolean topLevelArray;
+    private boolean inRecord;
+    private final Object[] fields = new Object[7];
+    private int currentField = -1;
+    // counts violations passed to the consumer and top-level array elements that were not objects
+    private final LoadTracker tracker;
+
+    // containers being built for a known key whose value is an object or array
+    private final Deque<Object> containers = new ArrayDeque<>();
+    private final Deque<String> containerKeys = new ArrayDeque<>();
+
+    ViolationJSONHandler(Consumer<ParkingViolation> consumer, LoadTracker tracker) {
+        this.consumer = consumer;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public void startJSON() {
+    }
+
+    @Override
+    public void endJSON() {
+    }
+
+    @Override
+    public boolean startObject() {
+        if (depth == 0) {
+            topLevelArray = false;
+        } else if (depth == 1 && topLevelArray) {
+            inRecord = true;
+            Arrays.fill(fields, null);
+            currentField = -1;
+        } else if (isCapturing()) {
+            openContainer(new JSONObject());
+        }
+        depth++;
+        return true;
+    }
+
+    @Override
+    public boolean endObject() {
+        depth--;
+        if (depth == 1 && inRecord) {
+            inRecord = false;
+            emit();
+        } else if (depth >= 2 && !containers.isEmpty()) {
+            closeContainer();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean startObjectEntry(String key) {
+        if (depth == 2 && inRecord) {
+            currentField = fieldIndex(key);
+        } else if (!containers.isEmpty()) {
+            containerKeys.pop();
+            containerKeys.push(key);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endObjectEntry() {
+        return true;
+    }
+
+    @Override
+    public boolean startArray() {
+        if (depth == 0) {
+            topLevelArray = true;
+        } else if (depth == 1 && topLevelArray) {
+            tracker.rejected(RejectReason.NOT_AN_OBJECT);
+        } else if (isCapturing()) {
+            openContainer(new JSONArray());
+        }
+        depth++;
+        return true;
+    }
+
+    @Override
+    public boolean endArray() {
+        depth--;
+        if (depth >= 2 && !containers.isEmpty()) {
+            closeContainer();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean primitive(Object value) {
+        if (depth == 2 && inRecord) {
+            if (currentField >= 0) {
+                fields[currentField] = value;
+            }
+        } else if (depth == 1 && topLevelArray) {
+            tracker.rejected(RejectReason.NOT_AN_OBJECT);
+        } else if (!containers.isEmpty()) {
+            addToContainer(value);
+        }
+        return true;
+    }
+
+    // True when the next object or array belongs to the value of a known key
+    private boolean isCapturing() {
+        return inRecord && (!containers.isEmpty() || (depth == 2 && currentField >= 0));
+    }
+
+    private void openContainer(Object container) {
+        if (!containers.isEmpty()) {
+            addToContainer(container);
+        }
+        containers.push(container);
+        containerKeys.push("");
+    }
+
+    private void closeContainer() {
+        Object container = containers.pop();
+        containerKeys.pop();
+        if (containers.isEmpty()) {
+            fields[currentField] = container;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addToContainer(Object value) {
+        Object parent = containers.peek();
+        if (parent instanceof JSONArray) {
+            ((JSONArray) parent).add(value);
+        } else {
+            ((JSONObject) parent).put(containerKeys.peek(), value);
+        }
+    }
+
+    private void emit() {
+        String timestamp = stringValue(fields[TIMESTAMP]);
+        double fine;
+        try {
+            fine = doubleValue(fields[FINE]);
+        } catch (NumberFormatException e) {
+            tracker.rejected(RejectReason.INVALID_FINE);
+            return; // Skip invalid fine values, like the CSV readers
+        }
+        String description = stringValue(fields[DESCRIPTION]);
+        String vehicleId = stringValue(fields[VEHICLE_ID]);
+        String state = stringValue(fields[STATE]);
+        String violationId = stringValue(fields[VIOLATION_ID]);
+        String zipCode = stringValue(fields[ZIP_CODE]);
+
+        consumer.accept(new ParkingViolation(
+            timestamp, fine, description, vehicleId, state, violationId,
+            ParkingViolationReader.normalizeZipCode(zipCode)
+        ));
+        tracker.accepted();
+    }
+
+    private static int fieldIndex(String key) {
+        switch (key) {
+            case "timestamp":
+                return TIMESTAMP;
+            case "fine":
+                return FINE;
+            case "description":
+                return DESCRIPTION;
+            case "vehicle_id":
+                return VEHICLE_ID;
+            case "state":
+                return STATE;
+            case "violation_id":
+                return VIOLATION_ID;
+            case "zip_code":
+                return ZIP_CODE;
+            default:
+                return -1;
+        }
+    }
+
+    private static String stringValue(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    // 0.0 if the value is missing (NumberFormatException if it is not a number)
+    private static double doubleValue(Object value) {
+        if (value == null) {
+            return 0.0;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return Double.parseDouble(value.toString());
+    }
+}
@@ -0,0 +1,99 @@
+package datamanagement;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import common.ZipReportRow;
+import org.json.simple.JSONValue;
+
+// Writes the per-ZIP report as CSV or JSON, one row at a time
+public class ZipReportWriter {
+
+    // Column names, in output order; also the JSON keys
+    public static final String[] COLUMNS = {
+        "zip_code", "population", "total_fines", "fines_per_capita",
+        "average_market_value", "average_total_livable_area", "market_value_per_capita"
+    };
+
+    // Writes the report to a file: JSON if the name ends in .json, CSV otherwise
+    public static void writeToFile(Iterable<ZipReportRow> rows, String filename) throws IOException {
+        if (filename == null || filename.trim().isEmpty()) {
+            throw new IllegalArgumentException("Filename cannot be null or empty");
+        }
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(filename), StandardCharsets.UTF_8))) {
+            if (filename.toLowerCase().endsWith(".json")) {
+                writeJSON(rows, out);
+            } else {
+                writeCSV(rows, out);
+            }
+        }
+    }
+
+    // Writes a header line and one line per row
+    public static void writeCSV(Iterable<ZipReportRow> rows, Writer out) throws IOException {
+        checkArguments(rows, out);
+        out.write(String.join(",", COLUMNS));
+        out.write('\n');
+        for (ZipReportRow row : rows) {
+            out.write(csvField(row.getZipCode()));
+            out.write(',');
+            out.write(Integer.toString(row.getPopulation()));
+            out.write(',');
+            out.write(Double.toString(row.getTotalFines()));
+            out.write(',');
+            out.write(Double.toString(row.getFinesPerCapita()));
+            out.write(',');
+            out.write(Integer.toString(row.getAverageMarketValue()));
+            out.write(',');
+            out.write(Integer.toString(row.getAverageTotalLivableArea()));
+            out.write(',');
+            out.write(Integer.toString(row.getMarketValuePerCapita()));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    // Writes a JSON array with one object per row, one object per line
+    public static void writeJSON(Iterable<ZipReportRow> rows, Writer out) throws IOException {
+        checkArguments(rows, out);
+        out.write('[');
+        boolean first = true;
+        for (ZipReportRow row : rows) {
+            out.write(first ? "\n" : ",\n");
+            first = false;
+            out.write("{\"" + COLUMNS[0] + "\":\"" + JSONValue.escape(row.getZipCode()) + "\"");
+            out.write(",\"" + COLUMNS[1] + "\":" + row.getPopulation());
+            out.write(",\"" + COLUMNS[2] + "\":" + jsonNumber(row.getTotalFines()));
+            out.write(",\"" + COLUMNS[3] + "\":" + jsonNumber(row.getFinesPerCapita()));
+            out.write(",\"" + COLUMNS[4] + "\":" + row.getAverageMarketValue());
+            out.write(",\"" + COLUMNS[5] + "\":" + row.getAverageTotalLivableArea());
+            out.write(",\"" + COLUMNS[6] + "\":" + row.getMarketValuePerCapita() + "}");
+        }
+        out.write(first ? "]\n" : "\n]\n");
+        out.flush();
+    }
+
+    // Helper: Rejects null arguments
+    private static void checkArguments(Iterable<ZipReportRow> rows, Writer out) {
+        if (rows == null) {
+            throw new IllegalArgumentException("Report rows cannot be null");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("Writer cannot be null");
+        }
+    }
+
+    // Helper: Quotes a CSV field if it contains a separator, quote or line break
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    // Helper: JSON has no NaN or Infinity, so those are written as null
+    private static String jsonNumber(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? "null" : Double.toString(value);
+    }
+}
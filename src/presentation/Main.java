@@ -1,24 +1,55 @@
 package presentation;
 
 import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import datamanagement.DataFileWatcher;
+import datamanagement.DatasetSnapshot;
+import datamanagement.LoadReport;
+import datamanagement.LoadResult;
 import datamanagement.ParkingViolationReader;
+import datamanagement.ParkingViolationTailer;
 import datamanagement.PropertyReader;
 import datamanagement.PopulationReader;
+import datamanagement.ZipReportWriter;
 import common.ParkingViolation;
 import common.Property;
+import processor.CacheStats;
 import processor.DataProcessor;
+import processor.QueryStats;
 
 public class Main {
     private static DataProcessor processor;
     private static Scanner scanner;
+    // follow mode: the tailer of the parking file, the rows it reads during startup (before the
+    // processor exists) and, with a snapshot, the file its offset is saved to next to the snapshot
+    private static ParkingViolationTailer tailer;
+    private static final List<ParkingViolation> startupRows = new ArrayList<>();
+    private static String checkpointFile;
+
+    // How often follow mode checks the parking file for appended lines
+    private static final long FOLLOW_INTERVAL_MILLIS = 1000;
+
+    // How long the property and population files must be unchanged before watch mode reloads them
+    private static final long WATCH_SETTLE_MILLIS = 500;
+
+    // JMX name of the processor's query and cache counters
+    private static final String MBEAN_NAME = "processor:type=DataProcessor";
 
     public static void main(String[] args) {
-        if (args.length != 4) {
-            System.err.println("Error: Incorrect number of arguments.");
-            System.err.println("Usage: java Main <csv|json> <parking_file> <properties_file> <population_file>");
-            System.exit(1);
+        if (args.length < 4) {
+            exitWithUsage("Error: Incorrect number of arguments.");
         }
 
         String format = args[0];
@@ -26,23 +57,92 @@ public class Main {
         String propertiesFile = args[2];
         String populationFile = args[3];
 
+        // options after the four required arguments:
+        // "--report <file>" writes the per-ZIP report instead of showing the menu,
+        // "--follow" keeps reading violations appended to the parking CSV file,
+        // "--watch" reloads the property and population files when they change,
+        // "--snapshot <file>" keeps a binary snapshot of the parsed files for faster restarts
+        //   (with --follow, a restart reads only the lines appended since the snapshot was saved),
+        // "--load-report" prints load progress and each file's rows, rejects and speed to stderr,
+        // "--csv-reader <mapped|parallel|lines>" picks the parking CSV reader (memory-mapped by default)
+        String reportFile = null;
+        String csvReader = "mapped";
+        String snapshotFile = null;
+        boolean follow = false;
+        boolean watch = false;
+        boolean loadReport = false;
+        for (int i = 4; i < args.length; i++) {
+            if (args[i].equals("--report") && i + 1 < args.length) {
+                reportFile = args[++i];
+            } else if (args[i].equals("--snapshot") && i + 1 < args.length) {
+                snapshotFile = args[++i];
+            } else if (args[i].equals("--csv-reader") && i + 1 < args.length) {
+                csvReader = args[++i];
+            } else if (args[i].equals("--follow")) {
+                follow = true;
+            } else if (args[i].equals("--watch")) {
+                watch = true;
+            } else if (args[i].equals("--load-report")) {
+                loadReport = true;
+            } else {
+                exitWithUsage("Error: Unknown option: " + args[i]);
+            }
+        }
+
         if (!format.equals("csv") && !format.equals("json")) {
             System.err.println("Error: First argument must be either 'csv' or 'json' (case-sensitive).");
             System.exit(1);
         }
+        if (!csvReader.equals("mapped") && !csvReader.equals("parallel") && !csvReader.equals("lines")) {
+            System.err.println("Error: --csv-reader must be 'mapped', 'parallel' or 'lines'.");
+            System.exit(1);
+        }
+        if (follow && !format.equals("csv")) {
+            System.err.println("Error: --follow requires the 'csv' format.");
+            System.exit(1);
+        }
+        if ((follow || watch) && reportFile != null) {
+            System.err.println("Error: --follow and --watch cannot be combined with --report.");
+            System.exit(1);
+        }
 
         try {
-            List<ParkingViolation> violations;
-            if (format.equals("csv")) {
-                violations = ParkingViolationReader.readFromCSV(parkingFile);
-            } else {
-                violations = ParkingViolationReader.readFromJSON(parkingFile);
+            if (follow) {
+                tailer = new ParkingViolationTailer(parkingFile, null, Main::addFollowed);
             }
+            // a snapshot taken from the same source files replaces parsing them; the
+            // sources are fingerprinted before they are read, so a file that changes
+            // while loading makes the next start rebuild the snapshot again
+            DatasetSnapshot snapshot = null;
+            if (snapshotFile != null) {
+                // a followed parking file keeps growing, so it is not fingerprinted; instead the
+                // tailer's checkpoint, saved with the snapshot, says how much of it the snapshot holds
+                snapshot = new DatasetSnapshot(snapshotFile, format, follow
+                        ? Arrays.asList(propertiesFile, populationFile)
+                        : Arrays.asList(parkingFile, propertiesFile, populationFile));
+                checkpointFile = follow ? snapshotFile + ".offset" : null;
+                DatasetSnapshot.Dataset data = snapshot.read();
+                if (data != null && (tailer == null || tailer.resume(checkpointFile))) {
+                    loadSnapshot(data, snapshot);
+                }
+            }
+            if (processor == null) {
+                loadFiles(format, csvReader, parkingFile, propertiesFile, populationFile, snapshot, loadReport);
+            }
+            registerMBean();
 
-            List<Property> properties = PropertyReader.readFromCSV(propertiesFile);
-            Map<String, Integer> population = PopulationReader.readFromFile(populationFile);
+            if (reportFile != null) {
+                ZipReportWriter.writeToFile(processor.getZipReport().values(), reportFile);
+                System.out.println("Report written to " + reportFile);
+                return;
+            }
+            if (follow) {
+                startFollowing();
+            }
+            if (watch) {
+                startWatching(propertiesFile, populationFile);
+            }
 
-            processor = DataProcessor.getInstance(violations, properties, population);
             scanner = new Scanner(System.in);
 
             showMainMenu();
@@ -59,6 +159,222 @@ public class Main {
         }
     }
 
+    // Reads the three files and creates the processor. The files are independent, so they
+    // are read at the same time, one thread each; startup takes as long as the slowest file.
+    // With a snapshot, the parsed data is then saved to it for the next start.
+    private static void loadFiles(String format, String csvReader, String parkingFile, String propertiesFile,
+                                  String populationFile, DatasetSnapshot snapshot,
+                                  boolean loadReport) throws IOException {
+        Consumer<LoadReport> progress = loadReport ? report -> System.err.println("Loading " + report) : null;
+        ExecutorService loaders = Executors.newFixedThreadPool(3, runnable -> {
+            Thread thread = new Thread(runnable, "file-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<List<ParkingViolation>> violationsLoad;
+        if (tailer != null) {
+            // the tailer reads the whole file on its first poll
+            violationsLoad = load(() -> {
+                tailer.poll();
+                return startupRows;
+            }, loaders);
+        } else if (format.equals("csv") && csvReader.equals("mapped")) {
+            violationsLoad = load(() -> reported(ParkingViolationReader.readFromCSVMapped(parkingFile, progress),
+                                                loadReport), loaders);
+        } else if (format.equals("csv") && csvReader.equals("parallel")) {
+            violationsLoad = load(() -> reported(ParkingViolationReader.readFromCSVParallel(
+                    parkingFile, true, ForkJoinPool.commonPool(), progress), loadReport), loaders);
+        } else if (format.equals("csv")) {
+            violationsLoad = load(() -> reported(ParkingViolationReader.readFromCSV(parkingFile, progress),
+                                                loadReport), loaders);
+        } else {
+            // streamed, so a large file doesn't need a parsed document tree next to the rows
+            violationsLoad = load(() -> {
+                List<ParkingViolation> violations = new ArrayList<>();
+                LoadReport report = ParkingViolationReader.readFromJSONStreaming(parkingFile, violations::add,
+                                                                                 progress);
+                return reported(violations, report, loadReport);
+            }, loaders);
+        }
+        CompletableFuture<List<Property>> propertiesLoad =
+                load(() -> reported(PropertyReader.readFromCSV(propertiesFile, progress), loadReport), loaders);
+        CompletableFuture<Map<String, Integer>> populationLoad =
+                load(() -> reported(PopulationReader.readFromFile(populationFile, progress), loadReport), loaders);
+
+        awaitAll(violationsLoad, propertiesLoad, populationLoad);
+        loaders.shutdown();
+
+        processor = DataProcessor.getInstance(violationsLoad.join(), propertiesLoad.join(),
+                                              populationLoad.join());
+
+        if (snapshot != null) {
+            writeSnapshot(snapshot, violationsLoad.join(), propertiesLoad.join(), populationLoad.join());
+        }
+    }
+
+    // Creates the processor from a snapshot. When following, the lines appended since the
+    // snapshot was saved are read first and the snapshot is saved again with them.
+    private static void loadSnapshot(DatasetSnapshot.Dataset data, DatasetSnapshot snapshot) throws IOException {
+        List<ParkingViolation> violations = data.getViolations();
+        if (tailer != null) {
+            tailer.poll();
+            if (!startupRows.isEmpty()) {
+                violations = new ArrayList<>(violations);
+                violations.addAll(startupRows);
+                writeSnapshot(snapshot, violations, data.getProperties(), data.getPopulation());
+            }
+        }
+        processor = DataProcessor.getInstance(violations, data.getProperties(), data.getPopulation());
+    }
+
+    // Saves the parsed data for the next start. When following, the tailer's offset is saved
+    // after it; the old checkpoint is deleted first, and a snapshot without a matching checkpoint
+    // is not used, so a failure between the two writes costs a full reload, never lost or repeated rows.
+    private static void writeSnapshot(DatasetSnapshot snapshot, List<ParkingViolation> violations,
+                                      List<Property> properties, Map<String, Integer> population) {
+        try {
+            if (checkpointFile != null) {
+                Files.deleteIfExists(Paths.get(checkpointFile));
+            }
+            snapshot.write(violations, properties, population);
+            if (checkpointFile != null) {
+                tailer.saveCheckpoint(checkpointFile);
+            }
+        } catch (IOException e) {
+            // the data is loaded; only the next start is slower
+            System.err.println("Warning: could not write snapshot: " + e.getMessage());
+        }
+    }
+
+    // Prints the final report of a read if --load-report was given, and returns the data
+    private static <T> T reported(LoadResult<T> result, boolean loadReport) {
+        return reported(result.getData(), result.getReport(), loadReport);
+    }
+
+    private static <T> T reported(T data, LoadReport report, boolean loadReport) {
+        if (loadReport) {
+            System.err.println("Loaded " + report);
+        }
+        return data;
+    }
+
+    // Reads a file; unlike Supplier, may throw IOException
+    private interface FileLoader<T> {
+        T load() throws IOException;
+    }
+
+    // Starts a file read on the executor; an IOException completes the future as an UncheckedIOException
+    private static <T> CompletableFuture<T> load(FileLoader<T> loader, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return loader.load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    // Waits until every load has finished, or throws the first load failure as soon as it happens
+    // (the other loads are not waited for), unwrapped so the caller prints the usual messages
+    private static void awaitAll(CompletableFuture<?>... loads) throws IOException {
+        CompletableFuture<Void> firstFailureOrAll = new CompletableFuture<>();
+        for (CompletableFuture<?> load : loads) {
+            load.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    firstFailureOrAll.completeExceptionally(failure);
+                }
+            });
+        }
+        CompletableFuture.allOf(loads).thenRun(() -> firstFailureOrAll.complete(null));
+        try {
+            firstFailureOrAll.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    // Publishes the processor's query and cache counters over JMX, e.g. for jconsole
+    private static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(processor, new ObjectName(MBEAN_NAME));
+        } catch (JMException e) {
+            // the menu's statistics option still works
+            System.err.println("Warning: could not register MBean: " + e.getMessage());
+        }
+    }
+
+    private static void exitWithUsage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: java Main <csv|json> <parking_file> <properties_file> <population_file>"
+                           + " [--report <report_file.csv|report_file.json>] [--follow] [--watch]"
+                           + " [--snapshot <snapshot_file>] [--load-report] [--csv-reader <mapped|parallel|lines>]");
+        System.exit(1);
+    }
+
+    // Sink of the tailer: rows read during startup are kept until the processor is created from
+    // them (and saved to the snapshot); after that, rows go straight to the processor
+    private static void addFollowed(List<ParkingViolation> batch) {
+        if (processor == null) {
+            startupRows.addAll(batch);
+        } else {
+            processor.addViolations(batch);
+        }
+    }
+
+    // Keeps adding lines appended to the parking file on a background thread; the lines
+    // already in it were read during startup
+    private static void startFollowing() {
+        startupRows.clear();
+        Thread follower = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(FOLLOW_INTERVAL_MILLIS);
+                    tailer.poll();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    // try again on the next tick; the file may be in the middle of a rotation
+                    System.err.println("Error reading file: " + e.getMessage());
+                } catch (RuntimeException e) {
+                    // e.g. the processor rejected a batch; the tailer's offset stays before it,
+                    // so it is tried again on the next tick
+                    System.err.println("Error adding violations: " + e.getMessage());
+                }
+            }
+        }, "violation-follower");
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    // Reloads the property and/or population file on a background thread whenever it changes.
+    // The processor swaps in the new data at once, so the menu never waits for a reload;
+    // if a file can't be read, the current data is kept.
+    private static void startWatching(String propertiesFile, String populationFile) throws IOException {
+        DataFileWatcher watcher = new DataFileWatcher(Arrays.asList(propertiesFile, populationFile),
+                WATCH_SETTLE_MILLIS, changed -> {
+            try {
+                List<Property> properties = changed.contains(propertiesFile)
+                        ? PropertyReader.readFromCSV(propertiesFile) : null;
+                Map<String, Integer> population = changed.contains(populationFile)
+                        ? PopulationReader.readFromFile(populationFile) : null;
+                processor.replaceData(properties, population);
+            } catch (IOException e) {
+                System.err.println("Error reading file: " + e.getMessage());
+            }
+        }, e -> System.err.println("Error reloading data: " + e.getMessage()));
+        watcher.start();
+    }
+
     private static void showMainMenu() {
         while (true) {
             System.out.println("\nMain Menu:");
@@ -67,6 +383,7 @@ public class Main {
             System.out.println("3. Average residential market value for a ZIP code");
             System.out.println("4. Average residential total livable area for a ZIP code");
             System.out.println("5. Residential market value per capita for a ZIP code");
+            System.out.println("6. Query and cache statistics");
             System.out.println("0. Exit");
             System.out.print("Enter your choice: ");
 
@@ -103,6 +420,9 @@ public class Main {
             case 5:
                 handleMarketValuePerCapita();
                 break;
+            case 6:
+                handleStatistics();
+                break;
             case 0:
                 System.out.println("Exiting program. Goodbye!");
                 System.exit(0);
@@ -147,6 +467,27 @@ public class Main {
                                   "Residential market value per capita");
     }
 
+    // Menu Option #6: Handle query latency and cache statistics
+    private static void handleStatistics() {
+        System.out.println("\nQuery statistics (latencies in microseconds):");
+        for (Map.Entry<String, QueryStats> entry : processor.getQueryStats().entrySet()) {
+            QueryStats stats = entry.getValue();
+            System.out.println(entry.getKey() + ": calls=" + stats.getCallCount()
+                    + ", rowsScanned=" + stats.getRowsScanned()
+                    + ", p50=" + micros(stats.getP50Nanos()) + ", p99=" + micros(stats.getP99Nanos())
+                    + ", p999=" + micros(stats.getP999Nanos()) + ", max=" + micros(stats.getMaxNanos()));
+        }
+        System.out.println("\nCache statistics:");
+        for (Map.Entry<String, CacheStats> entry : processor.getCacheStats().entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+        }
+    }
+
+    // Helper: Formats nanoseconds as microseconds with one decimal
+    private static String micros(long nanos) {
+        return String.format("%.1f", nanos / 1000.0);
+    }
+
     // Helper: Displays results for multiple ZIP codes in Options #3-5
     private static void displayZipCodes(Function<String, Integer> calculator,
         String resultLabel) {
@@ -157,7 +498,8 @@ public class Main {
             zipCodeArray[i] = zipCodeArray[i].trim();
         }
         try {
-            // Handles multiple ZIP codes input using processZipCodes from DataProcessor
+            // Handles multiple ZIP codes input using processZipCodes from DataProcessor; each ZIP code
+            // goes through the cached getter, so it shows up in the statistics of option 6
             Map<String, Integer> results = processor.processZipCodes(calculator, zipCodeArray);
             System.out.println();
             for (Map.Entry<String, Integer> entry : results.entrySet()) {
@@ -0,0 +1,42 @@
+package processor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Java Flight Recorder event for building or updating the per-ZIP aggregate table
+@Name("processor.AggregateRebuild")
+@Label("Aggregate Rebuild")
+@Category({"Parking Data", "Cache"})
+@Description("The per-ZIP aggregate table built or updated")
+@StackTrace(false)
+final class AggregateRebuildEvent extends Event {
+
+    @Label("Reason")
+    @Description("load, addViolations, addProperties or replaceData")
+    String reason;
+
+    @Label("Violation Rows")
+    long violationRows;
+
+    @Label("Property Rows")
+    long propertyRows;
+
+    @Label("ZIP Count")
+    int zipCount;
+
+    // Ends the event started with begin() and commits it if a recording wants it
+    void finish(String reason, long violationRows, long propertyRows, int zipCount) {
+        end();
+        if (shouldCommit()) {
+            this.reason = reason;
+            this.violationRows = violationRows;
+            this.propertyRows = propertyRows;
+            this.zipCount = zipCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package processor;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * MemoCache holding at most a fixed number of entries, evicting the least
+ * recently used one when full. Entries can also expire a fixed time after their
+ * load started (TTL); expired entries are dropped when they are next looked up.
+ * The loader runs outside the lock: a missing key gets a pending future that
+ * other callers for the same key wait on, so each key is still loaded once.
+ */
+public class BoundedMemoCache<K, V> implements MemoCache<K, V> {
+    private final int capacity;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    // access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long loadNanos;
+
+    // Creates a cache without expiry
+    public BoundedMemoCache(int capacity) {
+        this(capacity, 0, TimeUnit.NANOSECONDS);
+    }
+
+    // Creates a cache whose entries expire ttl after their load starts; a ttl of 0 disables expiry
+    public BoundedMemoCache(int capacity, long ttl, TimeUnit unit) {
+        this(capacity, ttl, unit, System::nanoTime);
+    }
+
+    // Same as above, reading the time in nanoseconds from ticker
+    public BoundedMemoCache(int capacity, long ttl, TimeUnit unit, LongSupplier ticker) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (ttl < 0) {
+            throw new IllegalArgumentException("TTL cannot be negative");
+        }
+        if (unit == null || ticker == null) {
+            throw new IllegalArgumentException("Time unit and ticker cannot be null");
+        }
+        this.capacity = capacity;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > BoundedMemoCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        CacheEntry<V> entry;
+        boolean load = false;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(key);
+                evictions++;
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new CacheEntry<>(ticker.getAsLong());
+                entries.put(key, entry);
+                misses++;
+                load = true;
+            } else {
+                hits++;
+            }
+        }
+
+        if (load) {
+            return load(key, entry, loader);
+        }
+        try {
+            return entry.value.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private V load(K key, CacheEntry<V> entry, Function<? super K, ? extends V> loader) {
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            // don't cache failures; waiting callers see the same exception
+            discard(key, entry, start);
+            entry.value.completeExceptionally(e);
+            throw e;
+        }
+        if (value == null) {
+            discard(key, entry, start);
+        } else {
+            synchronized (this) {
+                loadNanos += System.nanoTime() - start;
+            }
+        }
+        entry.value.complete(value);
+        return value;
+    }
+
+    // Removes a pending entry unless it was already replaced or invalidated
+    private synchronized void discard(K key, CacheEntry<V> entry, long start) {
+        loadNanos += System.nanoTime() - start;
+        if (entries.get(key) == entry) {
+            entries.remove(key);
+        }
+    }
+
+    private boolean isExpired(CacheEntry<V> entry) {
+        return ttlNanos > 0 && entry.value.isDone() && ticker.getAsLong() - entry.loadedAt >= ttlNanos;
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return e;
+    }
+
+    @Override
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    // Number of entries, including expired ones that have not been dropped yet
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Drops every expired entry now instead of on its next lookup
+    public synchronized void cleanUp() {
+        Iterator<CacheEntry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next())) {
+                iterator.remove();
+                evictions++;
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, loadNanos);
+    }
+
+    // A loaded or loading value and the time its load started
+    private static final class CacheEntry<V> {
+        final CompletableFuture<V> value = new CompletableFuture<>();
+        final long loadedAt;
+
+        CacheEntry(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package processor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Java Flight Recorder event for cached query results being dropped after a data change
+@Name("processor.CacheInvalidation")
+@Label("Cache Invalidation")
+@Category({"Parking Data", "Cache"})
+@Description("Cached DataProcessor results dropped")
+@StackTrace(false)
+final class CacheInvalidationEvent extends Event {
+
+    @Label("Caches")
+    @Description("all, finesPerCapita, or perZip for the three per-ZIP caches")
+    String caches;
+
+    @Label("Reason")
+    @Description("The DataProcessor method that changed the data")
+    String reason;
+
+    @Label("Keys")
+    @Description("ZIP codes dropped from each cache, or -1 when the caches were cleared")
+    int keys;
+
+    // Ends the event started with begin() and commits it if a recording wants it
+    void finish(String caches, String reason, int keys) {
+        end();
+        if (shouldCommit()) {
+            this.caches = caches;
+            this.reason = reason;
+            this.keys = keys;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package processor;
+
+/**
+ * Snapshot of a MemoCache's counters: lookups that found a value (hits), lookups
+ * that ran the loader (misses), entries dropped to respect the capacity or TTL
+ * (evictions), and total time spent in the loader.
+ */
+public final class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long totalLoadNanos;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long totalLoadNanos) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.totalLoadNanos = totalLoadNanos;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getTotalLoadNanos() {
+        return totalLoadNanos;
+    }
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    // Fraction of lookups that were hits; 1.0 when there were no lookups
+    public double getHitRate() {
+        long requests = getRequestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    // Average loader time per miss, in nanoseconds
+    public double getAverageLoadNanos() {
+        return missCount == 0 ? 0.0 : (double) totalLoadNanos / missCount;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount
+                + ", hitRate=" + DataProcessor.formatFourDecimals(getHitRate())
+                + ", avgLoadNanos=" + Math.round(getAverageLoadNanos());
+    }
+}
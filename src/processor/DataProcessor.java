@@ -1,20 +1,65 @@
 package processor;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.text.DecimalFormat;
 import common.ParkingViolation;
 import common.Property;
+import common.ZipReportRow;
 
-public class DataProcessor {
-    private static DataProcessor instance; // singleton
-    private ViolationList violations;
-    private List<Property> properties;
-    private Map<String, Integer> population;
+public class DataProcessor implements DataProcessorMXBean {
+    // singleton; volatile so a fully constructed instance is visible to every thread
+    private static volatile DataProcessor instance;
 
-    private Map<String, Integer> averageMarketValueCache;
+    // batches with at least this many ZIP codes are evaluated in parallel
+    static final int PARALLEL_BATCH_THRESHOLD = 4096;
 
-    private Map<String, Integer> averageTotalLivableAreaCache;
+    // upper bound on entries in each per-ZIP query cache
+    public static final int DEFAULT_CACHE_CAPACITY = 10_000;
+
+    // creates the per-ZIP query caches of the next instance
+    private static Supplier<? extends MemoCache<String, Integer>> cacheFactory = DataProcessor::newDefaultCache;
+
+    private final ZipCodeDictionary zipCodes;
+
+    // population and per-ZIP totals every query reads. updates never change a published
+    // snapshot: they build a new one and swap it in, so each query reads one consistent
+    // snapshot and is never blocked by an update.
+    private volatile Snapshot snapshot;
+    // serializes addViolations, addProperties and replaceData
+    private final Object updateLock = new Object();
+
+    // memoization caches; safe for concurrent readers, each key is computed by one thread.
+    // bounded by default, since any string passed in as a ZIP code becomes a key
+    private final MemoCache<String, Integer> averageMarketValueCache;
+
+    private final MemoCache<String, Integer> averageTotalLivableAreaCache;
+
+    private final MemoCache<String, Integer> marketValuePerCapitaCache;
+
+    // result of getFinesPerCapita, or null until it is first computed
+    private volatile Map<String, Double> finesPerCapitaCache;
+    private final Object finesPerCapitaLock = new Object();
+    private final AtomicLong finesPerCapitaHits = new AtomicLong();
+    private final AtomicLong finesPerCapitaMisses = new AtomicLong();
+    private final AtomicLong finesPerCapitaLoadNanos = new AtomicLong();
+
+    // cache loaders, created once so a cached query doesn't allocate a method reference per call
+    private final Function<String, Integer> averageMarketValueLoader = this::computeAverageMarketValue;
+    private final Function<String, Integer> averageTotalLivableAreaLoader = this::computeAverageTotalLivableArea;
+    private final Function<String, Integer> marketValuePerCapitaLoader = this::computeMarketValuePerCapita;
+
+    // latency, call and row counters of the public queries; recording only updates
+    // preallocated atomic counters, so it doesn't allocate or block
+    private final QueryMetrics totalPopulationMetrics = new QueryMetrics();
+    private final QueryMetrics finesPerCapitaMetrics = new QueryMetrics();
+    private final QueryMetrics averageMarketValueMetrics = new QueryMetrics();
+    private final QueryMetrics averageTotalLivableAreaMetrics = new QueryMetrics();
+    private final QueryMetrics marketValuePerCapitaMetrics = new QueryMetrics();
+    private final QueryMetrics processZipCodesMetrics = new QueryMetrics();
 
     // private constructor for singleton pattern
     private DataProcessor(List<ParkingViolation> violations, 
@@ -30,16 +75,24 @@ public class DataProcessor {
             throw new IllegalArgumentException("Population map cannot be null");
         }
         
-        this.violations = new ViolationList(violations);
-        this.properties = properties;
-        this.population = population;
-        this.averageMarketValueCache = new HashMap<>();
-        this.averageTotalLivableAreaCache = new HashMap<>();
+        this.zipCodes = new ZipCodeDictionary();
+        // one pass over both stores, split across the fork-join pool; every query below
+        // is a lookup in this table
+        AggregateRebuildEvent event = new AggregateRebuildEvent();
+        event.begin();
+        this.snapshot = new Snapshot(population,
+                ZipAggregates.build(new PropertyStore(properties, zipCodes),
+                                    new ViolationStore(violations, zipCodes), true));
+        event.finish("load", violations.size(), properties.size(), zipCodes.size());
+        this.averageMarketValueCache = cacheFactory.get();
+        this.averageTotalLivableAreaCache = cacheFactory.get();
+        this.marketValuePerCapitaCache = cacheFactory.get();
     }
 
     //Gets the singleton instance of DataProcessor.
     // Creates the instance on first call with the provided parameters.
-    public static DataProcessor getInstance(List<ParkingViolation> violations, 
+    // Synchronized so concurrent first calls create only one instance.
+    public static synchronized DataProcessor getInstance(List<ParkingViolation> violations, 
                                            List<Property> properties, 
                                            Map<String, Integer> population) {
         if (instance == null) {
@@ -56,43 +109,194 @@ public class DataProcessor {
     // this method is primarily for testing purposes to allow creating new instances.
     // Also clears all memoization caches.
 
-    public static void resetInstance() {
+    public static synchronized void resetInstance() {
         if (instance != null) {
-            instance.averageMarketValueCache.clear();
-            instance.averageTotalLivableAreaCache.clear();
+            instance.invalidateCaches();
         }
         instance = null;
     }
 
+    // sets how the per-ZIP query caches are created, e.g. with another capacity or a TTL.
+    // only affects instances created after the call.
+    public static synchronized void setCacheFactory(Supplier<? extends MemoCache<String, Integer>> factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Cache factory cannot be null");
+        }
+        cacheFactory = factory;
+    }
+
+    // restores the default cache factory (LRU caches of DEFAULT_CACHE_CAPACITY entries, no TTL)
+    public static synchronized void resetCacheFactory() {
+        cacheFactory = DataProcessor::newDefaultCache;
+    }
+
+    private static MemoCache<String, Integer> newDefaultCache() {
+        return new BoundedMemoCache<>(DEFAULT_CACHE_CAPACITY);
+    }
+
+    // clears all memoization caches so the next queries recompute from the current data.
+    // call this after changing data the processor reads in place, e.g. the population map;
+    // replaceData swaps in new data and clears the caches itself.
+    public void invalidateCaches() {
+        clearCaches("invalidateCaches");
+    }
+
+    // clears all caches; reason names the caller for the JFR event
+    private void clearCaches(String reason) {
+        CacheInvalidationEvent event = new CacheInvalidationEvent();
+        event.begin();
+        averageMarketValueCache.clear();
+        averageTotalLivableAreaCache.clear();
+        marketValuePerCapitaCache.clear();
+        synchronized (finesPerCapitaLock) {
+            finesPerCapitaCache = null;
+        }
+        event.finish("all", reason, -1);
+    }
+
+    // adds a batch of violations to the per-ZIP totals in O(batch size + ZIP count), without
+    // rescanning earlier rows. getFinesPerCapita reflects the batch once this returns.
+    public void addViolations(List<ParkingViolation> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Violations list cannot be null");
+        }
+        synchronized (updateLock) {
+            AggregateRebuildEvent rebuild = new AggregateRebuildEvent();
+            rebuild.begin();
+            ViolationStore store = new ViolationStore(batch, zipCodes);
+            Snapshot current = snapshot;
+            ZipAggregates updated = current.aggregates.copy(zipCodes.size());
+            updated.addViolations(store, 0, store.size());
+            snapshot = new Snapshot(current.population, updated);
+            rebuild.finish("addViolations", batch.size(), 0, updated.zipCount());
+            // fines per capita is the only result that depends on violations;
+            // cleared after the swap so it can't be refilled from the old table
+            CacheInvalidationEvent invalidation = new CacheInvalidationEvent();
+            invalidation.begin();
+            synchronized (finesPerCapitaLock) {
+                finesPerCapitaCache = null;
+            }
+            invalidation.finish("finesPerCapita", "addViolations", -1);
+        }
+    }
+
+    // adds a batch of properties to the per-ZIP totals in O(batch size + ZIP count), without
+    // rescanning earlier rows. only the cached results of the batch's ZIP codes are dropped.
+    public void addProperties(List<Property> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Properties list cannot be null");
+        }
+        synchronized (updateLock) {
+            AggregateRebuildEvent rebuild = new AggregateRebuildEvent();
+            rebuild.begin();
+            PropertyStore store = new PropertyStore(batch, zipCodes);
+            Snapshot current = snapshot;
+            ZipAggregates updated = current.aggregates.copy(zipCodes.size());
+            updated.addProperties(store, 0, store.size());
+            snapshot = new Snapshot(current.population, updated);
+            rebuild.finish("addProperties", 0, batch.size(), updated.zipCount());
+
+            // invalidated after the swap: a load that read the old table is dropped too
+            CacheInvalidationEvent invalidation = new CacheInvalidationEvent();
+            invalidation.begin();
+            Set<String> affected = new HashSet<>();
+            for (int row = 0; row < store.size(); row++) {
+                String zipCode = store.getZipCode(row);
+                if (zipCode != null && affected.add(zipCode)) {
+                    averageMarketValueCache.invalidate(zipCode);
+                    averageTotalLivableAreaCache.invalidate(zipCode);
+                    marketValuePerCapitaCache.invalidate(zipCode);
+                }
+            }
+            invalidation.finish("perZip", "addProperties", affected.size());
+        }
+    }
+
+    // replaces the properties and/or the population with freshly loaded data; pass null to
+    // keep the current one. the new property totals are built on the calling thread while
+    // queries keep reading the current snapshot, then the new snapshot is swapped in with
+    // one write. queries already running finish on the old data; later queries see the new.
+    // violations, including appended ones, are kept. properties appended with addProperties
+    // are replaced along with the rest.
+    public void replaceData(List<Property> properties, Map<String, Integer> population) {
+        AggregateRebuildEvent rebuild = new AggregateRebuildEvent();
+        rebuild.begin();
+        ZipAggregates propertyTotals = null;
+        if (properties != null) {
+            propertyTotals = ZipAggregates.buildPropertyTotals(new PropertyStore(properties, zipCodes), true);
+        }
+        synchronized (updateLock) {
+            Snapshot current = snapshot;
+            snapshot = new Snapshot(population != null ? population : current.population,
+                    propertyTotals != null ? current.aggregates.withPropertyTotals(propertyTotals)
+                                           : current.aggregates);
+            rebuild.finish("replaceData", 0, properties == null ? 0 : properties.size(),
+                           snapshot.aggregates.zipCount());
+            // cleared after the swap so no cache keeps a result computed from the old snapshot
+            clearCaches("replaceData");
+        }
+    }
+
     public int getTotalPopulation() {
+        long start = System.nanoTime();
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        Map<String, Integer> population = snapshot.population;
         int total = 0;
         for (int pop : population.values()) {
             total += pop;
         }
+        totalPopulationMetrics.record(start, population.size());
+        event.finish("totalPopulation", null, null, population.size(), false, population.size());
         return total;
     }
 
     public Map<String, Double> getFinesPerCapita() {
-        Map<String, Double> finesPerCapita = new TreeMap<>();
-        Map<String, Double> totalFines = new HashMap<>();
-
-        // calculate total fines per ZIP code (only PA violations with valid ZIP)
-        violations.reset();
-        while (violations.hasNext()) {
-            ParkingViolation violation = violations.next();
-            if (violation != null && violation.hasValidZipCode() && violation.isFromPA()) {
-                String zipCode = violation.getZipCode();
-                totalFines.put(zipCode, totalFines.getOrDefault(zipCode, 0.0) + violation.getFine());
+        long start = System.nanoTime();
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        boolean hit = true;
+        int zipCount = 0; // ZIP codes read on a miss
+        // memoization: return a copy of the cached result so callers can't change the cache
+        Map<String, Double> cached = finesPerCapitaCache;
+        if (cached == null) {
+            // only one thread computes the result; the others wait for it
+            synchronized (finesPerCapitaLock) {
+                cached = finesPerCapitaCache;
+                if (cached == null) {
+                    long loadStart = System.nanoTime();
+                    hit = false;
+                    zipCount = snapshot.aggregates.zipCount();
+                    cached = computeFinesPerCapita();
+                    finesPerCapitaLoadNanos.addAndGet(System.nanoTime() - loadStart);
+                    finesPerCapitaMisses.incrementAndGet();
+                    finesPerCapitaCache = cached;
+                } else {
+                    finesPerCapitaHits.incrementAndGet();
+                }
             }
+        } else {
+            finesPerCapitaHits.incrementAndGet();
         }
+        Map<String, Double> result = new TreeMap<>(cached);
+        finesPerCapitaMetrics.record(start, 0);
+        event.finish("finesPerCapita", null, null, result.size(), hit, zipCount);
+        return result;
+    }
+
+    private Map<String, Double> computeFinesPerCapita() {
+        Map<String, Double> finesPerCapita = new TreeMap<>();
 
+        // total fines per ZIP code (only PA violations with valid ZIP) come from the aggregate table
         // for each ZIP code, calculate fines per capita = total fines / population
         // only include ZIP codes with non-zero fines and population
         // return TreeMap for sorted output
-        for (Map.Entry<String, Double> entry : totalFines.entrySet()) {
-            String zipCode = entry.getKey();
-            double totalFine = entry.getValue();
-            Integer pop = population.get(zipCode);
+        Snapshot data = snapshot;
+        finesPerCapitaMetrics.addRows(data.aggregates.zipCount());
+        for (int zipId = 0; zipId < data.aggregates.zipCount(); zipId++) {
+            String zipCode = zipCodes.zipCode(zipId);
+            double totalFine = data.aggregates.getPAFineTotal(zipId);
+            Integer pop = data.population.get(zipCode);
 
             if (pop != null && pop > 0 && totalFine > 0) {
                 double perCapita = totalFine / pop;
@@ -108,53 +312,73 @@ public class DataProcessor {
             throw new IllegalArgumentException("ZIP code cannot be null");
         }
         
-        // memoization: check cache first - return cached result if available
-        if (averageMarketValueCache.containsKey(zipCode)) {
-            return averageMarketValueCache.get(zipCode);
+        // memoization: return cached result if available, otherwise compute and store it
+        return cachedQuery("averageMarketValue", ZipMetric.AVERAGE_MARKET_VALUE,
+                           averageMarketValueCache, averageMarketValueLoader,
+                           averageMarketValueMetrics, zipCode);
+    }
+
+    // answers a per-ZIP query from its cache and records its latency. while a JFR recording
+    // wants query events, the loader is wrapped to tell hits from misses; otherwise the
+    // call allocates nothing.
+    private int cachedQuery(String query, ZipMetric metric, MemoCache<String, Integer> cache,
+                            Function<String, Integer> loader, QueryMetrics metrics, String zipCode) {
+        long start = System.nanoTime();
+        QueryEvent event = new QueryEvent();
+        int result;
+        if (event.isEnabled()) {
+            event.begin();
+            boolean[] loaded = new boolean[1];
+            result = cache.get(zipCode, key -> {
+                loaded[0] = true;
+                return loader.apply(key);
+            });
+            event.finish(query, metric, zipCode, 1, !loaded[0], loaded[0] ? 1 : 0);
+        } else {
+            result = cache.get(zipCode, loader);
         }
-        
-        // Calculate average market value for properties in the ZIP code (only valid values)
-        // Using Streams and Lambda expressions feature
-        OptionalDouble average = properties.stream()
-                .filter(property -> property != null 
-                        && zipCode.equals(property.getZipCode()) 
-                        && property.hasValidMarketValue()) 
-                .mapToDouble(Property::getMarketValue) 
-                .average(); // Java Features: Streams and Lambda
-
-        int result = average.isPresent() ? (int) Math.round(average.getAsDouble()) : 0;
-        
-        // memoization: store computed result in cache for future use
-        averageMarketValueCache.put(zipCode, result);
-        
+        metrics.record(start, 0);
         return result;
     }
 
+    // cache loader: one ZIP code's row of the aggregate table
+    private int computeAverageMarketValue(String zipCode) {
+        averageMarketValueMetrics.addRows(1);
+        return computeAverageMarketValue(snapshot, zipCode);
+    }
+
+    private int computeAverageMarketValue(Snapshot data, String zipCode) {
+        // Calculate average market value for properties in the ZIP code (only valid values)
+        int zipId = zipCodes.find(zipCode);
+        int count = data.aggregates.getMarketValueCount(zipId);
+
+        return (count == 0) ? 0 : (int) Math.round(data.aggregates.getMarketValueSum(zipId) / count);
+    }
+
     public int getAverageTotalLivableArea(String zipCode) {
         if (zipCode == null) {
             throw new IllegalArgumentException("ZIP code cannot be null");
         }
         
-        // memoization: check cache first - return cached result if available
-        if (averageTotalLivableAreaCache.containsKey(zipCode)) {
-            return averageTotalLivableAreaCache.get(zipCode);
-        }
-        
-        // calculate average total livable area for properties in the ZIP code (only valid values)
-        double sum = 0;
-        int count = 0;
+        // memoization: return cached result if available, otherwise compute and store it
+        return cachedQuery("averageTotalLivableArea", ZipMetric.AVERAGE_TOTAL_LIVABLE_AREA,
+                           averageTotalLivableAreaCache, averageTotalLivableAreaLoader,
+                           averageTotalLivableAreaMetrics, zipCode);
+    }
 
-        for (Property property : properties) {
-            if (property != null && zipCode.equals(property.getZipCode()) && property.hasValidTotalLivableArea()) {
-                sum += property.getTotalLivableArea();
-                count++;
-            }
-        }
+    // cache loader: one ZIP code's row of the aggregate table
+    private int computeAverageTotalLivableArea(String zipCode) {
+        averageTotalLivableAreaMetrics.addRows(1);
+        return computeAverageTotalLivableArea(snapshot, zipCode);
+    }
 
-        int result = (count == 0) ? 0 : (int) Math.round(sum / count);
-        averageTotalLivableAreaCache.put(zipCode, result);
-        
-        return result;
+    private int computeAverageTotalLivableArea(Snapshot data, String zipCode) {
+        // calculate average total livable area for properties in the ZIP code (only valid values)
+        int zipId = zipCodes.find(zipCode);
+        double sum = data.aggregates.getLivableAreaSum(zipId);
+        int count = data.aggregates.getLivableAreaCount(zipId);
+
+        return (count == 0) ? 0 : (int) Math.round(sum / count);
     }
 
     public int getMarketValuePerCapita(String zipCode) {
@@ -162,20 +386,27 @@ public class DataProcessor {
             throw new IllegalArgumentException("ZIP code cannot be null");
         }
         
-        // sum total market value for all properties in ZIP code (only valid values)
-        double totalMarketValue = 0;
+        // memoization: return cached result if available, otherwise compute and store it
+        return cachedQuery("marketValuePerCapita", ZipMetric.MARKET_VALUE_PER_CAPITA,
+                           marketValuePerCapitaCache, marketValuePerCapitaLoader,
+                           marketValuePerCapitaMetrics, zipCode);
+    }
 
-        for (Property property : properties) {
-            if (property != null && zipCode.equals(property.getZipCode()) && property.hasValidMarketValue()) {
-                totalMarketValue += property.getMarketValue();
-            }
-        }
+    // cache loader: one ZIP code's row of the aggregate table
+    private int computeMarketValuePerCapita(String zipCode) {
+        marketValuePerCapitaMetrics.addRows(1);
+        return computeMarketValuePerCapita(snapshot, zipCode);
+    }
+
+    private int computeMarketValuePerCapita(Snapshot data, String zipCode) {
+        // sum total market value for all properties in ZIP code (only valid values)
+        double totalMarketValue = data.aggregates.getMarketValueSum(zipCodes.find(zipCode));
 
         // get population for ZIP code
         // calculate per capita = total market value / population
         // round to integer
         // return 0 if no valid properties or ZIP code not in population data
-        Integer pop = population.get(zipCode);
+        Integer pop = data.population.get(zipCode);
         if (pop == null || pop == 0 || totalMarketValue == 0) {
             return 0;
         }
@@ -183,6 +414,83 @@ public class DataProcessor {
         return (int) Math.round(totalMarketValue / pop);
     }
 
+    // full-city report: every metric for every ZIP code that appears in the data or the
+    // population map, sorted by ZIP code. rows are looked up in the aggregate table in
+    // parallel, so the report never rescans violations or properties.
+    public Map<String, ZipReportRow> getZipReport() {
+        Snapshot data = snapshot;
+        Set<String> zipSet = new HashSet<>(data.population.keySet());
+        for (int zipId = 0; zipId < zipCodes.size(); zipId++) {
+            zipSet.add(zipCodes.zipCode(zipId));
+        }
+        zipSet.remove(null);
+        String[] keys = zipSet.toArray(new String[0]);
+
+        ZipReportRow[] rows = new ZipReportRow[keys.length];
+        IntStream.range(0, keys.length).parallel().forEach(i -> rows[i] = computeReportRow(data, keys[i]));
+
+        Map<String, ZipReportRow> report = new TreeMap<>();
+        for (ZipReportRow row : rows) {
+            report.put(row.getZipCode(), row);
+        }
+        return report;
+    }
+
+    private ZipReportRow computeReportRow(Snapshot data, String zipCode) {
+        Integer pop = data.population.get(zipCode);
+        int people = pop == null ? 0 : pop;
+        double totalFine = data.aggregates.getPAFineTotal(zipCodes.find(zipCode));
+        // same rule as getFinesPerCapita, with 0 for ZIP codes it leaves out
+        double finesPerCapita = (people > 0 && totalFine > 0) ? totalFine / people : 0;
+
+        return new ZipReportRow(zipCode, people, totalFine, finesPerCapita,
+                computeAverageMarketValue(data, zipCode),
+                computeAverageTotalLivableArea(data, zipCode),
+                computeMarketValuePerCapita(data, zipCode));
+    }
+
+    // counters of each query cache, keyed by query name
+    @Override
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("averageMarketValue", averageMarketValueCache.stats());
+        stats.put("averageTotalLivableArea", averageTotalLivableAreaCache.stats());
+        stats.put("marketValuePerCapita", marketValuePerCapitaCache.stats());
+        stats.put("finesPerCapita", new CacheStats(finesPerCapitaHits.get(), finesPerCapitaMisses.get(),
+                                                   0, finesPerCapitaLoadNanos.get()));
+        return stats;
+    }
+
+    // calls, latency percentiles and rows scanned of each public query, keyed by query name
+    @Override
+    public Map<String, QueryStats> getQueryStats() {
+        Map<String, QueryStats> stats = new LinkedHashMap<>();
+        stats.put("totalPopulation", totalPopulationMetrics.stats());
+        stats.put("finesPerCapita", finesPerCapitaMetrics.stats());
+        stats.put("averageMarketValue", averageMarketValueMetrics.stats());
+        stats.put("averageTotalLivableArea", averageTotalLivableAreaMetrics.stats());
+        stats.put("marketValuePerCapita", marketValuePerCapitaMetrics.stats());
+        stats.put("processZipCodes", processZipCodesMetrics.stats());
+        return stats;
+    }
+
+    // clears the query counters, e.g. to measure one period; cache counters are kept
+    @Override
+    public void resetQueryStats() {
+        totalPopulationMetrics.reset();
+        finesPerCapitaMetrics.reset();
+        averageMarketValueMetrics.reset();
+        averageTotalLivableAreaMetrics.reset();
+        marketValuePerCapitaMetrics.reset();
+        processZipCodesMetrics.reset();
+    }
+
+    // time spent building the per-ZIP aggregate table, in nanoseconds
+    @Override
+    public long getAggregateBuildNanos() {
+        return snapshot.aggregates.getBuildNanos();
+    }
+
     public static String formatFourDecimals(double value) {
         // use DecimalFormat to format to 4 decimal places with trailing zeros
         // format: "0.0000"
@@ -193,6 +501,9 @@ public class DataProcessor {
     // helper: handles multiple ZIP codes input
     public Map<String, Integer> processZipCodes(Function<String, Integer> calculator,
                                                  String... zipCodes) { // Java Features: Generics and Varargs 
+        long start = System.nanoTime();
+        QueryEvent event = new QueryEvent();
+        event.begin();
         // preserves insertion order of inputs
         Map<String, Integer> results = new LinkedHashMap<>();
         for (String zipCode : zipCodes) {
@@ -203,8 +514,104 @@ public class DataProcessor {
                 results.put(normalizedZip, result);
             }
         }
+        // the calculator's rows are counted by the query it calls
+        processZipCodesMetrics.record(start, 0);
+        event.finish("processZipCodes", null, null, results.size(), false, 0);
         return results;
     }
-}
 
+    // batch version of the helper above: answers a metric for every ZIP code in one pass.
+    // each ZIP code is a lookup in the aggregate table, so the batch never scans the
+    // properties; the memoization caches are not used, so a batch of unknown ZIP codes
+    // doesn't push other entries out of them.
+    // keeps the insertion order and 5-digit normalization of processZipCodes(Function, ...).
+    public Map<String, Integer> processZipCodes(ZipMetric metric, String... zipCodes) {
+        if (metric == null) {
+            throw new IllegalArgumentException("Metric cannot be null");
+        }
+        if (zipCodes == null) {
+            throw new IllegalArgumentException("ZIP codes cannot be null");
+        }
 
+        long start = System.nanoTime();
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        // normalizes ZIP codes to first 5 digits, dropping nulls and repeats
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String zipCode : zipCodes) {
+            if (zipCode != null) {
+                normalized.add(zipCode.length() >= 5 ? zipCode.substring(0, 5) : zipCode);
+            }
+        }
+        String[] keys = normalized.toArray(new String[0]);
+
+        int[] values = new int[keys.length];
+        IntStream indexes = IntStream.range(0, keys.length);
+        if (keys.length >= PARALLEL_BATCH_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        Snapshot data = snapshot;
+        indexes.forEach(i -> values[i] = compute(metric, data, keys[i]));
+
+        Map<String, Integer> results = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            results.put(keys[i], values[i]);
+        }
+        processZipCodesMetrics.record(start, keys.length);
+        event.finish("processZipCodes", metric, null, keys.length, false, keys.length);
+        return results;
+    }
+
+    private int compute(ZipMetric metric, Snapshot data, String zipCode) {
+        switch (metric) {
+            case AVERAGE_MARKET_VALUE:
+                return computeAverageMarketValue(data, zipCode);
+            case AVERAGE_TOTAL_LIVABLE_AREA:
+                return computeAverageTotalLivableArea(data, zipCode);
+            case MARKET_VALUE_PER_CAPITA:
+                return computeMarketValuePerCapita(data, zipCode);
+            default:
+                throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+    }
+
+    // latency histogram and row counter of one query
+    private static final class QueryMetrics {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong rowsScanned = new AtomicLong();
+
+        // records a call that started at startNanos (System.nanoTime) and read rows entries
+        void record(long startNanos, long rows) {
+            latency.record(System.nanoTime() - startNanos);
+            addRows(rows);
+        }
+
+        void addRows(long rows) {
+            if (rows != 0) {
+                rowsScanned.addAndGet(rows);
+            }
+        }
+
+        QueryStats stats() {
+            return new QueryStats(latency.getCount(), rowsScanned.get(), latency.getMeanNanos(),
+                    latency.getValueAtPercentile(0.50), latency.getValueAtPercentile(0.99),
+                    latency.getValueAtPercentile(0.999), latency.getMaxNanos());
+        }
+
+        void reset() {
+            latency.reset();
+            rowsScanned.set(0);
+        }
+    }
+
+    // population and per-ZIP totals, published together as one unit
+    private static final class Snapshot {
+        final Map<String, Integer> population;
+        final ZipAggregates aggregates;
+
+        Snapshot(Map<String, Integer> population, ZipAggregates aggregates) {
+            this.population = population;
+            this.aggregates = aggregates;
+        }
+    }
+}
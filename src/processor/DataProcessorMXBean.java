@@ -0,0 +1,21 @@
+package processor;
+
+import java.util.Map;
+
+/**
+ * JMX view of a DataProcessor's query and cache counters.
+ */
+public interface DataProcessorMXBean {
+
+    // Per-query counters, keyed by query name
+    Map<String, QueryStats> getQueryStats();
+
+    // Per-cache counters, keyed by query name
+    Map<String, CacheStats> getCacheStats();
+
+    // Time spent building the per-ZIP aggregate table, in nanoseconds
+    long getAggregateBuildNanos();
+
+    // Clears the query counters; cache counters are kept
+    void resetQueryStats();
+}
@@ -0,0 +1,26 @@
+package processor;
+
+import java.util.function.Function;
+
+/**
+ * Memoization cache used by DataProcessor for per-ZIP results.
+ * Implementations must be safe for concurrent callers and compute each key at
+ * most once at a time: when several threads ask for a missing key, one runs the
+ * loader and the others wait for its result.
+ */
+public interface MemoCache<K, V> {
+
+    // Returns the cached value for key, computing and storing it with loader if absent
+    V get(K key, Function<? super K, ? extends V> loader);
+
+    // Removes the entry for key, if any
+    void invalidate(K key);
+
+    // Removes all entries
+    void clear();
+
+    int size();
+
+    // Snapshot of the hit, miss, eviction and load-time counters
+    CacheStats stats();
+}
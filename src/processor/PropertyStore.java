@@ -0,0 +1,100 @@
+package processor;
+
+import java.util.List;
+import common.Property;
+
+/**
+ * Column-oriented copy of the properties used for aggregations.
+ * Market value and total livable area are kept in double[] columns, with NaN
+ * standing in for a missing or invalid (non-positive) value, and ZIP codes are
+ * kept as dictionary ids (-1 when the property has no ZIP code). Scans over
+ * these columns don't unbox or allocate. get() rebuilds a Property view of a row
+ * for callers that still want one.
+ */
+public class PropertyStore {
+    private final ZipCodeDictionary zipCodes;
+    private final int size;
+
+    private final int[] zipIds;
+    private final double[] marketValues;
+    private final double[] totalLivableAreas;
+
+    public PropertyStore(List<Property> properties, ZipCodeDictionary zipCodes) {
+        if (properties == null) {
+            throw new IllegalArgumentException("Properties list cannot be null");
+        }
+        if (zipCodes == null) {
+            throw new IllegalArgumentException("ZIP code dictionary cannot be null");
+        }
+
+        this.zipCodes = zipCodes;
+        this.size = properties.size();
+        this.zipIds = new int[size];
+        this.marketValues = new double[size];
+        this.totalLivableAreas = new double[size];
+
+        int row = 0;
+        for (Property property : properties) {
+            if (property == null) {
+                // null rows never count towards any aggregate
+                zipIds[row] = -1;
+                marketValues[row] = Double.NaN;
+                totalLivableAreas[row] = Double.NaN;
+                row++;
+                continue;
+            }
+            String zipCode = property.getZipCode();
+            zipIds[row] = zipCode == null ? -1 : zipCodes.idOf(zipCode);
+            marketValues[row] = property.hasValidMarketValue() ? property.getMarketValue() : Double.NaN;
+            totalLivableAreas[row] = property.hasValidTotalLivableArea()
+                    ? property.getTotalLivableArea() : Double.NaN;
+            row++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ZipCodeDictionary getZipCodes() {
+        return zipCodes;
+    }
+
+    // ZIP id of the row, or -1 if the property has no ZIP code
+    public int getZipId(int row) {
+        return zipIds[row];
+    }
+
+    public String getZipCode(int row) {
+        int zipId = zipIds[row];
+        return zipId < 0 ? null : zipCodes.zipCode(zipId);
+    }
+
+    // Market value of the row, or NaN if it is not valid
+    public double getMarketValue(int row) {
+        return marketValues[row];
+    }
+
+    // Total livable area of the row, or NaN if it is not valid
+    public double getTotalLivableArea(int row) {
+        return totalLivableAreas[row];
+    }
+
+    public boolean hasValidMarketValue(int row) {
+        return !Double.isNaN(marketValues[row]);
+    }
+
+    public boolean hasValidTotalLivableArea(int row) {
+        return !Double.isNaN(totalLivableAreas[row]);
+    }
+
+    // Builds a Property view of a row; invalid values come back as null
+    public Property get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for " + size + " properties");
+        }
+        return new Property(getZipCode(row),
+                hasValidMarketValue(row) ? marketValues[row] : null,
+                hasValidTotalLivableArea(row) ? totalLivableAreas[row] : null);
+    }
+}
@@ -0,0 +1,55 @@
+package processor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Java Flight Recorder event for one public DataProcessor query, so slow menu responses
+// can be lined up with GC and I/O in the same recording. Disabled unless a recording
+// enables it; a disabled event is a cheap check and the event object is optimized away.
+@Name("processor.Query")
+@Label("Query")
+@Category({"Parking Data", "Query"})
+@Description("A DataProcessor query")
+@StackTrace(false)
+final class QueryEvent extends Event {
+
+    @Label("Query")
+    @Description("Query name, as in getQueryStats")
+    String query;
+
+    @Label("Metric")
+    @Description("ZipMetric of a per-ZIP or batch query")
+    String metric;
+
+    @Label("ZIP Code")
+    @Description("The ZIP code of a single per-ZIP query")
+    String zipCode;
+
+    @Label("ZIP Count")
+    int zipCount;
+
+    @Label("Cache Hit")
+    boolean cacheHit;
+
+    @Label("Rows Scanned")
+    @Description("Per-ZIP table and population entries read")
+    long rowsScanned;
+
+    // Ends the event started with begin() and commits it if a recording wants it
+    void finish(String query, ZipMetric metric, String zipCode, int zipCount, boolean cacheHit, long rowsScanned) {
+        end();
+        if (shouldCommit()) {
+            this.query = query;
+            this.metric = metric == null ? null : metric.name();
+            this.zipCode = zipCode;
+            this.zipCount = zipCount;
+            this.cacheHit = cacheHit;
+            this.rowsScanned = rowsScanned;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package processor;
+
+/**
+ * Snapshot of one DataProcessor query's counters: calls, latency percentiles and maximum
+ * in nanoseconds, and rows scanned (entries of the per-ZIP aggregate table or population
+ * map the query read; a cache hit reads none).
+ */
+public final class QueryStats {
+    private final long callCount;
+    private final long rowsScanned;
+    private final double meanNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+
+    public QueryStats(long callCount, long rowsScanned, double meanNanos,
+                      long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+        this.callCount = callCount;
+        this.rowsScanned = rowsScanned;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    public double getMeanNanos() {
+        return meanNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "calls=" + callCount + ", rowsScanned=" + rowsScanned + ", meanNanos=" + Math.round(meanNanos)
+                + ", p50Nanos=" + p50Nanos + ", p99Nanos=" + p99Nanos + ", p999Nanos=" + p999Nanos
+                + ", maxNanos=" + maxNanos;
+    }
+}
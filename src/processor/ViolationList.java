@@ -1,10 +1,22 @@
 package processor;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import common.ParkingViolation;
 
-public class ViolationList implements Iterator<ParkingViolation> {
+// Iterates over parking violations.
+// hasNext()/next()/reset() share one cursor. For independent or parallel traversal,
+// use iterator(), spliterator(), stream() or parallelStream(): each call gets its
+// own cursor, so any number of traversals can run at once.
+// The list is a read-only view of the caller's list, not a copy: changing that list
+// while a traversal runs has the usual undefined results.
+public class ViolationList implements Iterator<ParkingViolation>, Iterable<ParkingViolation> {
     private final List<ParkingViolation> violations;
     private int currentIndex;
 
@@ -12,7 +24,7 @@ public class ViolationList implements Iterator<ParkingViolation> {
         if (violations == null) {
             throw new IllegalArgumentException("Violations list cannot be null");
         }
-        this.violations = violations;
+        this.violations = Collections.unmodifiableList(violations);
         this.currentIndex = 0;
     }
 
@@ -36,5 +48,80 @@ public class ViolationList implements Iterator<ParkingViolation> {
     public int size() {
         return violations.size();
     }
-}
 
+    // Returns a new cursor from the first violation; does not touch the shared cursor
+    @Override
+    public Iterator<ParkingViolation> iterator() {
+        return violations.iterator();
+    }
+
+    // Returns a spliterator that splits into balanced halves by index
+    @Override
+    public Spliterator<ParkingViolation> spliterator() {
+        if (violations instanceof RandomAccess) {
+            return new RangeSpliterator(violations, 0, violations.size());
+        }
+        return violations.spliterator();
+    }
+
+    public Stream<ParkingViolation> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<ParkingViolation> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // Spliterator over list indices [index, fence) of a random-access list
+    private static class RangeSpliterator implements Spliterator<ParkingViolation> {
+        private final List<ParkingViolation> violations;
+        private int index;
+        private final int fence;
+
+        RangeSpliterator(List<ParkingViolation> violations, int index, int fence) {
+            this.violations = violations;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ParkingViolation> action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(violations.get(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super ParkingViolation> action) {
+            for (int i = index; i < fence; i++) {
+                action.accept(violations.get(i));
+            }
+            index = fence;
+        }
+
+        // Hands off the first half of the remaining range
+        @Override
+        public Spliterator<ParkingViolation> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            RangeSpliterator prefix = new RangeSpliterator(violations, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            // not IMMUTABLE: the caller can still change the underlying list
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+}
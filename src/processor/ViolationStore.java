@@ -0,0 +1,91 @@
+package processor;
+
+import java.util.BitSet;
+import java.util.List;
+import common.ParkingViolation;
+
+/**
+ * Column-oriented copy of the parking violations used for aggregations.
+ * The fields queries read are held in primitive columns: fines as a double[],
+ * ZIP codes as dictionary ids (-1 when the violation has no valid ZIP) and a
+ * PA flag per row. Aggregations run as plain loops over these arrays instead of
+ * visiting a ParkingViolation per row.
+ * The remaining string fields are only needed to show a whole row, so they are
+ * read from the source violation when a row is materialised with get().
+ */
+public class ViolationStore {
+    private final List<ParkingViolation> source;
+    private final ZipCodeDictionary zipCodes;
+    private final int size;
+
+    private final double[] fines;
+    private final int[] zipIds;
+    private final BitSet fromPA;
+
+    public ViolationStore(List<ParkingViolation> violations, ZipCodeDictionary zipCodes) {
+        if (violations == null) {
+            throw new IllegalArgumentException("Violations list cannot be null");
+        }
+        if (zipCodes == null) {
+            throw new IllegalArgumentException("ZIP code dictionary cannot be null");
+        }
+
+        this.source = violations;
+        this.zipCodes = zipCodes;
+        this.size = violations.size();
+        this.fines = new double[size];
+        this.zipIds = new int[size];
+        this.fromPA = new BitSet(size);
+
+        int row = 0;
+        for (ParkingViolation violation : violations) {
+            if (violation == null) {
+                // null rows never count towards any aggregate
+                zipIds[row] = -1;
+                row++;
+                continue;
+            }
+            fines[row] = violation.getFine();
+            zipIds[row] = violation.hasValidZipCode() ? zipCodes.idOf(violation.getZipCode()) : -1;
+            if (violation.isFromPA()) {
+                fromPA.set(row);
+            }
+            row++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ZipCodeDictionary getZipCodes() {
+        return zipCodes;
+    }
+
+    public double getFine(int row) {
+        return fines[row];
+    }
+
+    // ZIP id of the row, or -1 if the violation has no valid ZIP code
+    public int getZipId(int row) {
+        return zipIds[row];
+    }
+
+    // ZIP code the row is counted under, or null if it has no valid ZIP code
+    public String getZipCode(int row) {
+        int zipId = zipIds[row];
+        return zipId < 0 ? null : zipCodes.zipCode(zipId);
+    }
+
+    public boolean isFromPA(int row) {
+        return fromPA.get(row);
+    }
+
+    // Materialises the whole violation for a row
+    public ParkingViolation get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for " + size + " violations");
+        }
+        return source.get(row);
+    }
+}
@@ -0,0 +1,223 @@
+package processor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Per-ZIP totals that every DataProcessor query can be answered from:
+ * sum and count of valid market values, sum and count of valid total livable
+ * areas, and total fines of PA violations. Arrays are indexed by ZIP id.
+ * Built in one pass over the property and violation stores; partial tables
+ * over separate row ranges can be combined with merge(). To take in appended
+ * rows without touching a table readers may be using, add them to a copy().
+ * The build cuts the rows into fixed blocks, totals each block into its own
+ * table and merges the tables pairwise in a fixed tree. The summation order
+ * only depends on the row counts, so a parallel build on a fork-join pool gives
+ * bit-for-bit the same sums as a serial one.
+ */
+public class ZipAggregates {
+    // rows per block; each block is totalled into its own table
+    static final int BLOCK_ROWS = 1 << 16;
+
+    private final int zipCount;
+    private final double[] marketValueSums;
+    private final int[] marketValueCounts;
+    private final double[] livableAreaSums;
+    private final int[] livableAreaCounts;
+    private final double[] paFineTotals;
+    private long buildNanos;
+
+    public ZipAggregates(int zipCount) {
+        if (zipCount < 0) {
+            throw new IllegalArgumentException("ZIP count cannot be negative");
+        }
+        this.zipCount = zipCount;
+        this.marketValueSums = new double[zipCount];
+        this.marketValueCounts = new int[zipCount];
+        this.livableAreaSums = new double[zipCount];
+        this.livableAreaCounts = new int[zipCount];
+        this.paFineTotals = new double[zipCount];
+    }
+
+    // Builds the table for every ZIP id in the stores' shared dictionary, on the
+    // common fork-join pool when parallel is true
+    public static ZipAggregates build(PropertyStore properties, ViolationStore violations, boolean parallel) {
+        if (violations == null) {
+            throw new IllegalArgumentException("Violations cannot be null");
+        }
+        return buildTotals(properties, violations, parallel);
+    }
+
+    // Builds a table with only property totals (fine totals stay zero), e.g. for
+    // withPropertyTotals after a properties file is reloaded
+    public static ZipAggregates buildPropertyTotals(PropertyStore properties, boolean parallel) {
+        return buildTotals(properties, null, parallel);
+    }
+
+    // Helper: Builds the table; violations may be null to leave the fine totals out
+    private static ZipAggregates buildTotals(PropertyStore properties, ViolationStore violations,
+                                             boolean parallel) {
+        long start = System.nanoTime();
+        int rows = Math.max(properties.size(), violations == null ? 0 : violations.size());
+        int blocks = Math.max(1, (int) ((rows + (long) BLOCK_ROWS - 1) / BLOCK_ROWS));
+        BuildTask task = new BuildTask(properties, violations, properties.getZipCodes().size(),
+                                       0, blocks, parallel);
+        ZipAggregates aggregates = parallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        aggregates.buildNanos = System.nanoTime() - start;
+        return aggregates;
+    }
+
+    // Adds property rows [fromRow, toRow) to the totals
+    public void addProperties(PropertyStore properties, int fromRow, int toRow) {
+        for (int row = fromRow; row < toRow; row++) {
+            int zipId = properties.getZipId(row);
+            if (zipId < 0) {
+                continue;
+            }
+            if (properties.hasValidMarketValue(row)) {
+                marketValueSums[zipId] += properties.getMarketValue(row);
+                marketValueCounts[zipId]++;
+            }
+            if (properties.hasValidTotalLivableArea(row)) {
+                livableAreaSums[zipId] += properties.getTotalLivableArea(row);
+                livableAreaCounts[zipId]++;
+            }
+        }
+    }
+
+    // Adds violation rows [fromRow, toRow) to the totals (only PA violations with a valid ZIP)
+    public void addViolations(ViolationStore violations, int fromRow, int toRow) {
+        for (int row = fromRow; row < toRow; row++) {
+            int zipId = violations.getZipId(row);
+            if (zipId >= 0 && violations.isFromPA(row)) {
+                paFineTotals[zipId] += violations.getFine(row);
+            }
+        }
+    }
+
+    // Returns a copy of the totals covering zipCount ZIP ids (at least the current count);
+    // new ids start at zero. Costs O(ZIP count), independent of the number of rows.
+    public ZipAggregates copy(int zipCount) {
+        ZipAggregates copy = new ZipAggregates(Math.max(zipCount, this.zipCount));
+        System.arraycopy(marketValueSums, 0, copy.marketValueSums, 0, this.zipCount);
+        System.arraycopy(marketValueCounts, 0, copy.marketValueCounts, 0, this.zipCount);
+        System.arraycopy(livableAreaSums, 0, copy.livableAreaSums, 0, this.zipCount);
+        System.arraycopy(livableAreaCounts, 0, copy.livableAreaCounts, 0, this.zipCount);
+        System.arraycopy(paFineTotals, 0, copy.paFineTotals, 0, this.zipCount);
+        copy.buildNanos = buildNanos;
+        return copy;
+    }
+
+    // Returns a table with the violation totals of this table and the property totals
+    // of another, e.g. one built from a reloaded properties file. Covers the ZIP ids of both.
+    public ZipAggregates withPropertyTotals(ZipAggregates properties) {
+        ZipAggregates result = new ZipAggregates(Math.max(zipCount, properties.zipCount));
+        System.arraycopy(paFineTotals, 0, result.paFineTotals, 0, zipCount);
+        System.arraycopy(properties.marketValueSums, 0, result.marketValueSums, 0, properties.zipCount);
+        System.arraycopy(properties.marketValueCounts, 0, result.marketValueCounts, 0, properties.zipCount);
+        System.arraycopy(properties.livableAreaSums, 0, result.livableAreaSums, 0, properties.zipCount);
+        System.arraycopy(properties.livableAreaCounts, 0, result.livableAreaCounts, 0, properties.zipCount);
+        result.buildNanos = properties.buildNanos;
+        return result;
+    }
+
+    // Adds the totals of another table over the same ZIP ids
+    public void merge(ZipAggregates other) {
+        if (other.zipCount != zipCount) {
+            throw new IllegalArgumentException("Cannot merge tables with different ZIP counts");
+        }
+        for (int zipId = 0; zipId < zipCount; zipId++) {
+            marketValueSums[zipId] += other.marketValueSums[zipId];
+            marketValueCounts[zipId] += other.marketValueCounts[zipId];
+            livableAreaSums[zipId] += other.livableAreaSums[zipId];
+            livableAreaCounts[zipId] += other.livableAreaCounts[zipId];
+            paFineTotals[zipId] += other.paFineTotals[zipId];
+        }
+    }
+
+    public int zipCount() {
+        return zipCount;
+    }
+
+    // Time build() took, in nanoseconds
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    // Getters return 0 for ZIP ids outside the table (unknown ZIP codes)
+
+    public double getMarketValueSum(int zipId) {
+        return inRange(zipId) ? marketValueSums[zipId] : 0;
+    }
+
+    public int getMarketValueCount(int zipId) {
+        return inRange(zipId) ? marketValueCounts[zipId] : 0;
+    }
+
+    public double getLivableAreaSum(int zipId) {
+        return inRange(zipId) ? livableAreaSums[zipId] : 0;
+    }
+
+    public int getLivableAreaCount(int zipId) {
+        return inRange(zipId) ? livableAreaCounts[zipId] : 0;
+    }
+
+    public double getPAFineTotal(int zipId) {
+        return inRange(zipId) ? paFineTotals[zipId] : 0;
+    }
+
+    private boolean inRange(int zipId) {
+        return zipId >= 0 && zipId < zipCount;
+    }
+
+    // Totals blocks [fromBlock, toBlock); splits in half until one block is left and
+    // merges the left half's table with the right half's
+    private static class BuildTask extends RecursiveTask<ZipAggregates> {
+        private static final long serialVersionUID = 1L;
+
+        private final PropertyStore properties;
+        private final ViolationStore violations;
+        private final int zipCount;
+        private final int fromBlock;
+        private final int toBlock;
+        private final boolean parallel;
+
+        BuildTask(PropertyStore properties, ViolationStore violations, int zipCount,
+                  int fromBlock, int toBlock, boolean parallel) {
+            this.properties = properties;
+            this.violations = violations;
+            this.zipCount = zipCount;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected ZipAggregates compute() {
+            if (toBlock - fromBlock == 1) {
+                int fromRow = fromBlock * BLOCK_ROWS;
+                ZipAggregates block = new ZipAggregates(zipCount);
+                block.addProperties(properties, Math.min(fromRow, properties.size()),
+                                    (int) Math.min((long) fromRow + BLOCK_ROWS, properties.size()));
+                if (violations != null) {
+                    block.addViolations(violations, Math.min(fromRow, violations.size()),
+                                        (int) Math.min((long) fromRow + BLOCK_ROWS, violations.size()));
+                }
+                return block;
+            }
+            int middle = (fromBlock + toBlock) >>> 1;
+            BuildTask left = new BuildTask(properties, violations, zipCount, fromBlock, middle, parallel);
+            BuildTask right = new BuildTask(properties, violations, zipCount, middle, toBlock, parallel);
+            ZipAggregates result;
+            if (parallel) {
+                right.fork();
+                result = left.compute();
+                result.merge(right.join());
+            } else {
+                result = left.compute();
+                result.merge(right.compute());
+            }
+            return result;
+        }
+    }
+}
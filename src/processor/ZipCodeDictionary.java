@@ -0,0 +1,63 @@
+package processor;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps ZIP code strings to dense int ids (0, 1, 2, ...) so per-ZIP data can be
+ * kept in primitive arrays indexed by id.
+ * Safe for concurrent use: lookups don't lock, and new ids are assigned one at a
+ * time, so readers can keep querying while appended rows add ZIP codes.
+ */
+public class ZipCodeDictionary {
+    private final ConcurrentHashMap<String, Integer> ids;
+    // zipCodes[id] for id < size; a new code is stored before size is raised
+    private volatile String[] zipCodes;
+    private volatile int size;
+
+    public ZipCodeDictionary() {
+        this.ids = new ConcurrentHashMap<>();
+        this.zipCodes = new String[16];
+    }
+
+    // Returns the id of the ZIP code, assigning the next free id if it is new
+    public int idOf(String zipCode) {
+        if (zipCode == null) {
+            throw new IllegalArgumentException("ZIP code cannot be null");
+        }
+        Integer id = ids.get(zipCode);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(zipCode);
+            if (id == null) {
+                id = size;
+                if (id == zipCodes.length) {
+                    zipCodes = Arrays.copyOf(zipCodes, id * 2);
+                }
+                zipCodes[id] = zipCode;
+                size = id + 1;
+                ids.put(zipCode, id);
+            }
+            return id;
+        }
+    }
+
+    // Returns the id of the ZIP code, or -1 if it has never been added
+    public int find(String zipCode) {
+        Integer id = zipCode == null ? null : ids.get(zipCode);
+        return id == null ? -1 : id;
+    }
+
+    public String zipCode(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("ZIP id " + id + " out of range for " + size + " ZIP codes");
+        }
+        return zipCodes[id];
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,11 @@
+package processor;
+
+/**
+ * Per-ZIP queries that DataProcessor.processZipCodes can answer for a whole
+ * set of ZIP codes at once.
+ */
+public enum ZipMetric {
+    AVERAGE_MARKET_VALUE,
+    AVERAGE_TOTAL_LIVABLE_AREA,
+    MARKET_VALUE_PER_CAPITA
+}
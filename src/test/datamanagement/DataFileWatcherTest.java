@@ -0,0 +1,160 @@
+package test.datamanagement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import datamanagement.DataFileWatcher;
+
+public class DataFileWatcherTest {
+
+    private static final long SETTLE_MILLIS = 400;
+    // long enough for the platform watch service to deliver an event
+    private static final long TIMEOUT_SECONDS = 20;
+
+    // Creates a directory with the files a.csv and b.txt; both are deleted when the JVM exits
+    private Path createDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("watched");
+        directory.toFile().deleteOnExit();
+        for (String name : new String[] {"a.csv", "b.txt"}) {
+            Path file = directory.resolve(name);
+            Files.write(file, "x\n".getBytes(StandardCharsets.UTF_8));
+            file.toFile().deleteOnExit();
+        }
+        return directory;
+    }
+
+    private void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> names(Path directory) {
+        return Arrays.asList(directory.resolve("a.csv").toString(), directory.resolve("b.txt").toString());
+    }
+
+    @Test
+    public void testChangesWithinSettleDelayAreReportedTogether() throws Exception {
+        Path directory = createDirectory();
+        List<String> names = names(directory);
+        BlockingQueue<Set<String>> reports = new LinkedBlockingQueue<>();
+        long[] reportedAt = new long[1];
+        try (DataFileWatcher watcher = new DataFileWatcher(names, SETTLE_MILLIS, changed -> {
+            reportedAt[0] = System.nanoTime();
+            reports.add(new HashSet<>(changed));
+        }, e -> { })) {
+            watcher.start();
+            write(directory.resolve("a.csv"), "1\n");
+            Thread.sleep(SETTLE_MILLIS / 4);
+            write(directory.resolve("a.csv"), "12\n");
+            Thread.sleep(SETTLE_MILLIS / 4);
+            write(directory.resolve("b.txt"), "123\n");
+            long lastWrite = System.nanoTime();
+
+            Set<String> changed = reports.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(new HashSet<>(names), changed);
+            // nothing is reported until the files have been quiet for the settle delay
+            assertTrue(reportedAt[0] - lastWrite >= TimeUnit.MILLISECONDS.toNanos(SETTLE_MILLIS));
+            // and everything was reported in that one call
+            assertNull(reports.poll(2 * SETTLE_MILLIS, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void testOtherFilesInTheDirectoryAreIgnored() throws Exception {
+        Path directory = createDirectory();
+        BlockingQueue<Set<String>> reports = new LinkedBlockingQueue<>();
+        try (DataFileWatcher watcher = new DataFileWatcher(names(directory), SETTLE_MILLIS, reports::add,
+                                                           e -> { })) {
+            watcher.start();
+            Path other = directory.resolve("other.csv");
+            other.toFile().deleteOnExit();
+            write(other, "1\n");
+            assertNull(reports.poll(3 * SETTLE_MILLIS, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void testOverflowReportsEveryFile() throws Exception {
+        // while the callback holds up the watcher, a burst of events in the directory fills
+        // the watch key's queue past its limit, so events are lost and every file counts as changed
+        Path directory = createDirectory();
+        List<String> names = names(directory);
+        BlockingQueue<Set<String>> reports = new LinkedBlockingQueue<>();
+        CountDownLatch inCallback = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (DataFileWatcher watcher = new DataFileWatcher(names, SETTLE_MILLIS, changed -> {
+            reports.add(new HashSet<>(changed));
+            inCallback.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, e -> { })) {
+            watcher.start();
+            write(directory.resolve("a.csv"), "1\n");
+            assertTrue(inCallback.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(Collections.singleton(names.get(0)), reports.take());
+
+            for (int i = 0; i < 2000; i++) {
+                Path other = directory.resolve("other" + i + ".csv");
+                other.toFile().deleteOnExit();
+                write(other, "1\n");
+            }
+            release.countDown();
+
+            assertEquals(new HashSet<>(names), reports.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testCallbackFailureGoesToErrorCallback() throws Exception {
+        Path directory = createDirectory();
+        List<String> names = names(directory);
+        BlockingQueue<Set<String>> reports = new LinkedBlockingQueue<>();
+        BlockingQueue<RuntimeException> errors = new LinkedBlockingQueue<>();
+        int[] calls = new int[1];
+        try (DataFileWatcher watcher = new DataFileWatcher(names, SETTLE_MILLIS, changed -> {
+            reports.add(new HashSet<>(changed));
+            if (++calls[0] == 1) {
+                throw new IllegalStateException("reload failed");
+            }
+        }, errors::add)) {
+            watcher.start();
+            write(directory.resolve("a.csv"), "1\n");
+            RuntimeException error = errors.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(error);
+            assertEquals("reload failed", error.getMessage());
+
+            // the watcher keeps going after the failure
+            write(directory.resolve("b.txt"), "1\n");
+            reports.take();
+            assertEquals(Collections.singleton(names.get(1)), reports.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertTrue(errors.isEmpty());
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() throws IOException {
+        List<String> names = names(createDirectory());
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DataFileWatcher(Collections.<String>emptyList(), 0, changed -> { }, e -> { });
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DataFileWatcher(names, -1, changed -> { }, e -> { });
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DataFileWatcher(names, 0, null, e -> { });
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DataFileWatcher(names, 0, changed -> { }, null);
+        });
+    }
+}
@@ -0,0 +1,216 @@
+package test.datamanagement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import datamanagement.DatasetSnapshot;
+import common.ParkingViolation;
+import common.Property;
+
+public class DatasetSnapshotTest {
+
+    // more than DatasetSnapshot's 65536 rows per row group, so the data spans several groups
+    private static final int MANY_ROWS = 2 * 65536 + 123;
+
+    // Creates a temporary file with the content, which is deleted when the JVM exits
+    private Path createFile(String suffix, String content) throws IOException {
+        File file = File.createTempFile("snapshot", suffix);
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.toPath();
+    }
+
+    // A snapshot path next to nothing yet; it and its temporary file are deleted when the JVM exits
+    private Path snapshotPath() throws IOException {
+        Path path = createFile(".bin", "");
+        Files.delete(path);
+        Paths.get(path + ".tmp").toFile().deleteOnExit();
+        return path;
+    }
+
+    private List<String> sources() throws IOException {
+        return Arrays.asList(createFile(".csv", "violations\n").toString(),
+                             createFile(".csv", "properties\n").toString());
+    }
+
+    private List<String> describeViolations(List<ParkingViolation> violations) {
+        List<String> rows = new ArrayList<>();
+        for (ParkingViolation v : violations) {
+            rows.add(v.getTimestamp() + "|" + v.getFine() + "|" + v.getDescription() + "|" + v.getVehicleId()
+                     + "|" + v.getState() + "|" + v.getViolationId() + "|" + v.getZipCode());
+        }
+        return rows;
+    }
+
+    private List<String> describeProperties(List<Property> properties) {
+        List<String> rows = new ArrayList<>();
+        for (Property p : properties) {
+            rows.add(p.getZipCode() + "|" + p.getMarketValue() + "|" + p.getTotalLivableArea());
+        }
+        return rows;
+    }
+
+    private List<ParkingViolation> violations(int count) {
+        List<ParkingViolation> violations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            violations.add(new ParkingViolation("2013-04-05T12:00:" + (i % 60), i % 7 * 12.5,
+                    i % 11 == 0 ? null : "DESC " + (i % 13), i % 5 == 0 ? null : "V" + i,
+                    i % 3 == 0 ? "NJ" : "PA", "ID" + i, i % 17 == 0 ? null : "191" + (i % 100)));
+        }
+        return violations;
+    }
+
+    private List<Property> properties(int count) {
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            properties.add(new Property(i % 19 == 0 ? null : "191" + (i % 50),
+                                        i % 4 == 0 ? null : 1000.0 + i, i % 6 == 0 ? null : i / 3.0));
+        }
+        return properties;
+    }
+
+    private Map<String, Integer> population() {
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19103", 24000);
+        population.put("19104", 0);
+        return population;
+    }
+
+    // Writes the data and checks that it reads back unchanged
+    private void assertRoundTrip(List<ParkingViolation> violations, List<Property> properties,
+                                 Map<String, Integer> population) throws IOException {
+        DatasetSnapshot snapshot = new DatasetSnapshot(snapshotPath().toString(), "csv", sources());
+        snapshot.write(violations, properties, population);
+
+        DatasetSnapshot.Dataset data = snapshot.read();
+        assertNotNull(data);
+        assertEquals(describeViolations(violations), describeViolations(data.getViolations()));
+        assertEquals(describeProperties(properties), describeProperties(data.getProperties()));
+        assertEquals(population, data.getPopulation());
+    }
+
+    @Test
+    public void testRoundTripWithNulls() throws IOException {
+        // null strings, market values and livable areas come back as null
+        assertRoundTrip(violations(100), properties(100), population());
+    }
+
+    @Test
+    public void testRoundTripAcrossRowGroups() throws IOException {
+        assertRoundTrip(violations(MANY_ROWS), properties(MANY_ROWS), population());
+    }
+
+    @Test
+    public void testRoundTripOfEmptyLists() throws IOException {
+        assertRoundTrip(new ArrayList<>(), new ArrayList<>(), new HashMap<>());
+    }
+
+    @Test
+    public void testMissingSnapshotReadsAsNull() throws IOException {
+        assertNull(new DatasetSnapshot(snapshotPath().toString(), "csv", sources()).read());
+    }
+
+    @Test
+    public void testFlippedByteReadsAsNull() throws IOException {
+        Path path = snapshotPath();
+        List<String> sources = sources();
+        new DatasetSnapshot(path.toString(), "csv", sources).write(violations(MANY_ROWS), properties(1000),
+                                                                   population());
+        long size = Files.size(path);
+        // header, fingerprint, the dictionaries, a row group in the middle and the last section
+        for (long position : new long[] {0, 12, 200, size / 2, size - 20, size - 1}) {
+            flip(path, position);
+            assertNull(new DatasetSnapshot(path.toString(), "csv", sources).read(), "byte " + position);
+            flip(path, position);
+        }
+        assertNotNull(new DatasetSnapshot(path.toString(), "csv", sources).read());
+    }
+
+    private void flip(Path path, long position) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(position);
+            int b = file.read();
+            file.seek(position);
+            file.write(b ^ 0x40);
+        }
+    }
+
+    @Test
+    public void testChangedSourceReadsAsNull() throws IOException {
+        Path path = snapshotPath();
+        List<String> sources = sources();
+        new DatasetSnapshot(path.toString(), "csv", sources).write(violations(10), properties(10), population());
+        assertNotNull(new DatasetSnapshot(path.toString(), "csv", sources).read());
+
+        // another format, or the sources in another order, is a different fingerprint
+        assertNull(new DatasetSnapshot(path.toString(), "json", sources).read());
+        assertNull(new DatasetSnapshot(path.toString(), "csv",
+                Arrays.asList(sources.get(1), sources.get(0))).read());
+
+        // modification time changed, content and size the same
+        File source = new File(sources.get(0));
+        long modified = source.lastModified();
+        assertTrue(source.setLastModified(modified - 60000));
+        assertNull(new DatasetSnapshot(path.toString(), "csv", sources).read());
+        assertTrue(source.setLastModified(modified));
+        assertNotNull(new DatasetSnapshot(path.toString(), "csv", sources).read());
+
+        // size changed, modification time kept
+        Files.write(source.toPath(), "x".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertTrue(source.setLastModified(modified));
+        assertNull(new DatasetSnapshot(path.toString(), "csv", sources).read());
+    }
+
+    @Test
+    public void testInterruptedWriteKeepsTheLastSnapshot() throws IOException {
+        Path path = snapshotPath();
+        Path temporary = Paths.get(path + ".tmp");
+        List<String> sources = sources();
+        DatasetSnapshot snapshot = new DatasetSnapshot(path.toString(), "csv", sources);
+        snapshot.write(violations(10), properties(10), population());
+
+        // a write killed half-way leaves its temporary file behind; readers don't see it
+        Files.write(temporary, "PVSN half a snapshot".getBytes(StandardCharsets.UTF_8));
+        DatasetSnapshot.Dataset data = snapshot.read();
+        assertNotNull(data);
+        assertEquals(10, data.getViolations().size());
+
+        // a write that fails removes its temporary file and keeps the last snapshot
+        List<ParkingViolation> withNullRow = violations(20);
+        withNullRow.set(15, null);
+        assertThrows(IllegalArgumentException.class, () -> {
+            snapshot.write(withNullRow, properties(10), population());
+        });
+        assertFalse(Files.exists(temporary));
+        assertEquals(10, snapshot.read().getViolations().size());
+
+        // the next write replaces the leftover temporary file
+        Files.write(temporary, "PVSN half a snapshot".getBytes(StandardCharsets.UTF_8));
+        snapshot.write(violations(20), properties(10), population());
+        assertFalse(Files.exists(temporary));
+        assertEquals(20, snapshot.read().getViolations().size());
+    }
+
+    @Test
+    public void testInvalidArguments() throws IOException {
+        List<String> sources = sources();
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DatasetSnapshot(" ", "csv", sources);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DatasetSnapshot(snapshotPath().toString(), "csv", null);
+        });
+        DatasetSnapshot snapshot = new DatasetSnapshot(snapshotPath().toString(), "csv", sources);
+        assertThrows(IllegalArgumentException.class, () -> {
+            snapshot.write(null, new ArrayList<>(), new HashMap<>());
+        });
+    }
+}
@@ -0,0 +1,228 @@
+package test.datamanagement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import datamanagement.LoadReport;
+import datamanagement.LoadResult;
+import datamanagement.ParkingViolationReader;
+import datamanagement.PopulationReader;
+import datamanagement.PropertyReader;
+import datamanagement.RejectReason;
+import common.ParkingViolation;
+import common.Property;
+
+public class LoadReportTest {
+
+    // accepted rows in each file; more than two progress intervals of 65536 rows
+    private static final int GOOD_ROWS = 140000;
+    // one of each kind of dirty row every DIRTY_EVERY good rows
+    private static final int DIRTY_EVERY = 1000;
+    private static final int DIRTY_ROWS = GOOD_ROWS / DIRTY_EVERY;
+
+    // Writes the content to a temporary file, which is deleted when the JVM exits
+    private String writeFile(String suffix, String content) throws IOException {
+        File file = File.createTempFile("load", suffix);
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.getPath();
+    }
+
+    // Good violation rows with, every DIRTY_EVERY rows, a short row, a row with an invalid
+    // fine and blank lines (which are not rows)
+    private String violationsCSV() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < GOOD_ROWS; i++) {
+            content.append("2013-04-05T12:00:00Z,36,METER EXPIRED,1234567,PA,").append(i).append(",19103\n");
+            if (i % DIRTY_EVERY == 0) {
+                content.append("bad,row\n");
+                content.append("2013-04-05T12:00:00Z,N/A,METER EXPIRED,1234567,PA,").append(i).append(",19103\r\n");
+                content.append("\n   \r\n");
+            }
+        }
+        return content.toString();
+    }
+
+    // Good violation objects with, every DIRTY_EVERY objects, an unparsable fine, a fine
+    // with a currency sign and an element that is not an object
+    private String violationsJSON() {
+        StringBuilder content = new StringBuilder("[");
+        for (int i = 0; i < GOOD_ROWS; i++) {
+            content.append(i == 0 ? "" : ",\n").append("{\"fine\": 36, \"state\": \"PA\", \"violation_id\": ")
+                   .append(i).append(", \"zip_code\": \"19103\"}");
+            if (i % DIRTY_EVERY == 0) {
+                content.append(",\n{\"fine\": \"N/A\", \"zip_code\": \"19103\"}");
+                content.append(",\n{\"fine\": \"$36\", \"zip_code\": \"19103\"}");
+                content.append(",\n[1, 2]");
+            }
+        }
+        return content.append("]").toString();
+    }
+
+    // Checks the final report: the counts by reason, and every byte of the file read
+    private void assertReport(LoadReport report, String file, long accepted, Map<RejectReason, Long> rejects) {
+        assertTrue(report.isComplete());
+        assertEquals(accepted, report.getRowsAccepted());
+        long rejected = 0;
+        for (RejectReason reason : RejectReason.values()) {
+            long expected = rejects.containsKey(reason) ? rejects.get(reason) : 0;
+            assertEquals(expected, report.getRejected(reason), reason.name());
+            rejected += expected;
+        }
+        assertEquals(rejected, report.getRowsRejected());
+        assertEquals(accepted + rejected, report.getRowsRead());
+        assertEquals(new File(file).length(), report.getBytesRead());
+    }
+
+    // Checks that progress was reported exactly at each multiple of the interval
+    private void assertProgressEveryInterval(List<LoadReport> progress, long rowsRead) {
+        List<Long> expected = new ArrayList<>();
+        for (long rows = 65536; rows <= rowsRead; rows += 65536) {
+            expected.add(rows);
+        }
+        List<Long> actual = new ArrayList<>();
+        for (LoadReport report : progress) {
+            assertFalse(report.isComplete());
+            actual.add(report.getRowsRead());
+        }
+        assertEquals(expected, actual);
+    }
+
+    private Map<RejectReason, Long> rejects(Object... reasonsAndCounts) {
+        Map<RejectReason, Long> rejects = new EnumMap<>(RejectReason.class);
+        for (int i = 0; i < reasonsAndCounts.length; i += 2) {
+            rejects.put((RejectReason) reasonsAndCounts[i], ((Number) reasonsAndCounts[i + 1]).longValue());
+        }
+        return rejects;
+    }
+
+    @Test
+    public void testReadFromCSV() throws IOException {
+        String file = writeFile(".csv", violationsCSV());
+        List<LoadReport> progress = new ArrayList<>();
+        LoadResult<List<ParkingViolation>> result = ParkingViolationReader.readFromCSV(file, progress::add);
+
+        assertEquals(GOOD_ROWS, result.getData().size());
+        assertReport(result.getReport(), file, GOOD_ROWS, rejects(
+                RejectReason.WRONG_FIELD_COUNT, DIRTY_ROWS, RejectReason.INVALID_FINE, DIRTY_ROWS));
+        assertProgressEveryInterval(progress, GOOD_ROWS + 2 * DIRTY_ROWS);
+    }
+
+    @Test
+    public void testReadFromCSVMapped() throws IOException {
+        String file = writeFile(".csv", violationsCSV());
+        List<LoadReport> progress = new ArrayList<>();
+        // small windows, so CRLFs and blank lines also fall on window ends
+        LoadResult<List<ParkingViolation>> result =
+                ParkingViolationReader.readFromCSVMapped(file, progress::add, 4099);
+
+        assertEquals(GOOD_ROWS, result.getData().size());
+        assertReport(result.getReport(), file, GOOD_ROWS, rejects(
+                RejectReason.WRONG_FIELD_COUNT, DIRTY_ROWS, RejectReason.INVALID_FINE, DIRTY_ROWS));
+        assertProgressEveryInterval(progress, GOOD_ROWS + 2 * DIRTY_ROWS);
+    }
+
+    @Test
+    public void testReadFromCSVParallel() throws IOException {
+        String file = writeFile(".csv", violationsCSV());
+        List<LoadReport> progress = Collections.synchronizedList(new ArrayList<>());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            LoadResult<List<ParkingViolation>> result =
+                ParkingViolationReader.readFromCSVParallel(file, true, pool, progress::add, 64 * 1024);
+
+            assertEquals(GOOD_ROWS, result.getData().size());
+            assertReport(result.getReport(), file, GOOD_ROWS, rejects(
+                    RejectReason.WRONG_FIELD_COUNT, DIRTY_ROWS, RejectReason.INVALID_FINE, DIRTY_ROWS));
+        } finally {
+            pool.shutdown();
+        }
+        // chunks are counted as they finish, so a report comes at the first chunk to cross
+        // each interval: one per interval, each at or past it
+        assertEquals(2, progress.size());
+        for (int i = 0; i < progress.size(); i++) {
+            assertFalse(progress.get(i).isComplete());
+            assertTrue(progress.get(i).getRowsRead() >= 65536L * (i + 1));
+            assertTrue(progress.get(i).getRowsRead() < 65536L * (i + 2));
+        }
+    }
+
+    @Test
+    public void testReadFromJSON() throws IOException {
+        String file = writeFile(".json", violationsJSON());
+        List<LoadReport> progress = new ArrayList<>();
+        LoadResult<List<ParkingViolation>> result = ParkingViolationReader.readFromJSON(file, progress::add);
+
+        assertEquals(GOOD_ROWS, result.getData().size());
+        assertReport(result.getReport(), file, GOOD_ROWS, rejects(
+                RejectReason.INVALID_FINE, 2 * DIRTY_ROWS, RejectReason.NOT_AN_OBJECT, DIRTY_ROWS));
+        assertProgressEveryInterval(progress, GOOD_ROWS + 3 * DIRTY_ROWS);
+    }
+
+    @Test
+    public void testReadFromJSONStreaming() throws IOException {
+        String file = writeFile(".json", violationsJSON());
+        List<ParkingViolation> collected = new ArrayList<>();
+        List<LoadReport> progress = new ArrayList<>();
+        LoadReport report = ParkingViolationReader.readFromJSONStreaming(file, collected::add, progress::add);
+
+        assertEquals(GOOD_ROWS, collected.size());
+        assertReport(report, file, GOOD_ROWS, rejects(
+                RejectReason.INVALID_FINE, 2 * DIRTY_ROWS, RejectReason.NOT_AN_OBJECT, DIRTY_ROWS));
+        assertProgressEveryInterval(progress, GOOD_ROWS + 3 * DIRTY_ROWS);
+    }
+
+    @Test
+    public void testPropertyReader() throws IOException {
+        StringBuilder content = new StringBuilder("market_value,total_livable_area,zip_code\n");
+        for (int i = 0; i < GOOD_ROWS; i++) {
+            content.append(1000 + i).append(",500,19103\n");
+            if (i % DIRTY_EVERY == 0) {
+                content.append("1000,500,\n");
+                content.append("1000\n");
+                content.append("\r\n \n");
+            }
+        }
+        String file = writeFile(".csv", content.toString());
+        List<LoadReport> progress = new ArrayList<>();
+        LoadResult<List<Property>> result = PropertyReader.readFromCSV(file, progress::add);
+
+        assertEquals(GOOD_ROWS, result.getData().size());
+        assertReport(result.getReport(), file, GOOD_ROWS, rejects(
+                RejectReason.MISSING_ZIP_CODE, DIRTY_ROWS, RejectReason.WRONG_FIELD_COUNT, DIRTY_ROWS));
+        assertProgressEveryInterval(progress, GOOD_ROWS + 2 * DIRTY_ROWS);
+    }
+
+    @Test
+    public void testPopulationReader() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < GOOD_ROWS; i++) {
+            content.append(100000 + i).append(' ').append(i).append('\n');
+            if (i % DIRTY_EVERY == 0) {
+                content.append("19103 many\n");
+                content.append("19103\n");
+                content.append("\n  \n");
+            }
+        }
+        String file = writeFile(".txt", content.toString());
+        List<LoadReport> progress = new ArrayList<>();
+        LoadResult<Map<String, Integer>> result = PopulationReader.readFromFile(file, progress::add);
+
+        assertReport(result.getReport(), file, GOOD_ROWS, rejects(
+                RejectReason.INVALID_POPULATION, DIRTY_ROWS, RejectReason.WRONG_FIELD_COUNT, DIRTY_ROWS));
+        assertProgressEveryInterval(progress, GOOD_ROWS + 2 * DIRTY_ROWS);
+    }
+
+    @Test
+    public void testNoProgressConsumer() throws IOException {
+        // without a consumer only the final report is made
+        String file = writeFile(".csv", violationsCSV());
+        LoadReport report = ParkingViolationReader.readFromCSVMapped(file, null).getReport();
+        assertEquals(GOOD_ROWS + 2 * DIRTY_ROWS, report.getRowsRead());
+    }
+}
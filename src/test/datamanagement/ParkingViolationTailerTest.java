@@ -0,0 +1,212 @@
+package test.datamanagement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import datamanagement.ParkingViolationTailer;
+import common.ParkingViolation;
+
+public class ParkingViolationTailerTest {
+
+    // Creates an empty temporary file, which is deleted when the JVM exits
+    private Path createFile(String suffix) throws IOException {
+        File file = File.createTempFile("violations", suffix);
+        file.deleteOnExit();
+        return file.toPath();
+    }
+
+    private void append(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    private void overwrite(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String row(int id) {
+        return "2013-04-05T12:00:00Z,36,METER EXPIRED,1234567,PA," + id + ",19103\n";
+    }
+
+    // Violation ids of the delivered rows, in order
+    private List<String> ids(List<ParkingViolation> violations) {
+        List<String> ids = new ArrayList<>();
+        for (ParkingViolation v : violations) {
+            ids.add(v.getViolationId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testPartialLineWaitsForItsLineBreak() throws IOException {
+        Path file = createFile(".csv");
+        List<ParkingViolation> delivered = new ArrayList<>();
+        try (ParkingViolationTailer tailer = new ParkingViolationTailer(file.toString(), null, delivered::addAll)) {
+            append(file, row(1) + "2013-04-05T12:00:00Z,36,METER");
+            assertEquals(1, tailer.poll());
+            assertEquals(row(1).length(), tailer.getOffset());
+
+            append(file, " EXPIRED,1234567,PA,2,19103");
+            assertEquals(0, tailer.poll());
+            append(file, "\n" + row(3));
+            assertEquals(2, tailer.poll());
+            assertEquals(Arrays.asList("1", "2", "3"), ids(delivered));
+            assertEquals(Files.size(file), tailer.getOffset());
+            assertEquals(0, tailer.poll());
+        }
+    }
+
+    @Test
+    public void testTruncatedFileIsReadFromTheStart() throws IOException {
+        Path file = createFile(".csv");
+        overwrite(file, row(1) + row(2) + row(3));
+        List<ParkingViolation> delivered = new ArrayList<>();
+        try (ParkingViolationTailer tailer = new ParkingViolationTailer(file.toString(), null, delivered::addAll)) {
+            assertEquals(3, tailer.poll());
+
+            overwrite(file, row(4));
+            assertEquals(1, tailer.poll());
+            assertEquals(Arrays.asList("1", "2", "3", "4"), ids(delivered));
+        }
+    }
+
+    @Test
+    public void testTruncatedAndRegrownFileIsReadFromTheStart() throws IOException {
+        // truncated and written past the old offset between two polls: the size alone
+        // looks like an append, but the first bytes changed
+        Path file = createFile(".csv");
+        overwrite(file, row(1) + row(2));
+        List<ParkingViolation> delivered = new ArrayList<>();
+        try (ParkingViolationTailer tailer = new ParkingViolationTailer(file.toString(), null, delivered::addAll)) {
+            assertEquals(2, tailer.poll());
+
+            overwrite(file, row(5) + row(6) + row(7));
+            assertEquals(3, tailer.poll());
+            assertEquals(Arrays.asList("1", "2", "5", "6", "7"), ids(delivered));
+        }
+    }
+
+    @Test
+    public void testRotatedFileIsFinishedThenFollowed() throws IOException {
+        Path file = createFile(".csv");
+        overwrite(file, row(1));
+        List<ParkingViolation> delivered = new ArrayList<>();
+        try (ParkingViolationTailer tailer = new ParkingViolationTailer(file.toString(), null, delivered::addAll)) {
+            assertEquals(1, tailer.poll());
+
+            // the writer adds a last line to the old file, moves it away and starts a new one
+            append(file, row(2));
+            Path rotated = Paths.get(file + ".1");
+            rotated.toFile().deleteOnExit();
+            Files.move(file, rotated);
+            // nothing at the path yet: the open file is read to its end
+            assertEquals(1, tailer.poll());
+            append(rotated, row(3));
+            overwrite(file, row(4) + row(5));
+
+            // the rest of the old file, then the new one
+            assertEquals(3, tailer.poll());
+            assertEquals(Arrays.asList("1", "2", "3", "4", "5"), ids(delivered));
+        }
+    }
+
+    @Test
+    public void testCheckpointResumesWhereTheLastTailerStopped() throws IOException {
+        Path file = createFile(".csv");
+        Path checkpoint = createFile(".offset");
+        Files.delete(checkpoint);
+        overwrite(file, row(1) + row(2));
+
+        List<ParkingViolation> first = new ArrayList<>();
+        try (ParkingViolationTailer tailer = new ParkingViolationTailer(file.toString(), checkpoint.toString(),
+                                                                        first::addAll)) {
+            assertEquals(2, tailer.poll());
+        }
+        assertTrue(Files.exists(checkpoint));
+
+        append(file, row(3));
+        List<ParkingViolation> second = new ArrayList<>();
+        try (ParkingViolationTailer tailer = new ParkingViolationTailer(file.toString(), checkpoint.toString(),
+                                                                        second::addAll)) {
+            assertEquals(Files.size(file) - row(3).length(), tailer.getOffset());
+            assertEquals(1, tailer.poll());
+        }
+        assertEquals(Arrays.asList("1", "2"), ids(first));
+        assertEquals(Collections.singletonList("3"), ids(second));
+    }
+
+    @Test
+    public void testSavedCheckpointIsOnlyUsedForTheSameFile() throws IOException {
+        Path file = createFile(".csv");
+        Path checkpoint = createFile(".offset");
+        overwrite(file, row(1) + row(2));
+        try (ParkingViolationTailer tailer = new ParkingViolationTailer(file.toString(), null, batch -> { })) {
+            tailer.poll();
+            tailer.saveCheckpoint(checkpoint.toString());
+        }
+
+        // the same file: resumes at the saved offset
+        try (ParkingViolationTailer tailer = new ParkingViolationTailer(file.toString(), null, batch -> { })) {
+            assertTrue(tailer.resume(checkpoint.toString()));
+            assertEquals(Files.size(file), tailer.getOffset());
+        }
+
+        // rewritten in place with other rows of at least the same length: starts over
+        overwrite(file, row(7) + row(8) + row(9));
+        try (ParkingViolationTailer tailer = new ParkingViolationTailer(file.toString(), null, batch -> { })) {
+            assertFalse(tailer.resume(checkpoint.toString()));
+            assertEquals(0, tailer.getOffset());
+            assertFalse(tailer.resume(checkpoint + ".missing"));
+        }
+    }
+
+    @Test
+    public void testInvalidCheckpointThrows() throws IOException {
+        Path file = createFile(".csv");
+        Path checkpoint = createFile(".offset");
+        overwrite(checkpoint, "offset=abc\n");
+        assertThrows(IOException.class, () -> {
+            new ParkingViolationTailer(file.toString(), checkpoint.toString(), batch -> { }).close();
+        });
+
+        // every key is required, so a checkpoint can't skip the check of the file's first bytes
+        overwrite(file, row(1));
+        overwrite(checkpoint, "offset=" + row(1).length() + "\nfileKey=\n");
+        IOException e = assertThrows(IOException.class, () -> {
+            new ParkingViolationTailer(file.toString(), checkpoint.toString(), batch -> { }).close();
+        });
+        assertTrue(e.getMessage().startsWith("Invalid checkpoint file"));
+        try (ParkingViolationTailer tailer = new ParkingViolationTailer(file.toString(), null, batch -> { })) {
+            assertThrows(IOException.class, () -> {
+                tailer.resume(checkpoint.toString());
+            });
+        }
+    }
+
+    @Test
+    public void testRejectedBatchIsDeliveredAgain() throws IOException {
+        // a sink that throws leaves the offset before the batch, so the next poll retries it
+        Path file = createFile(".csv");
+        overwrite(file, row(1));
+        List<ParkingViolation> delivered = new ArrayList<>();
+        boolean[] failed = new boolean[1];
+        try (ParkingViolationTailer tailer = new ParkingViolationTailer(file.toString(), null, batch -> {
+            if (!failed[0]) {
+                failed[0] = true;
+                throw new IllegalStateException("busy");
+            }
+            delivered.addAll(batch);
+        })) {
+            assertThrows(IllegalStateException.class, tailer::poll);
+            assertEquals(0, tailer.getOffset());
+            assertEquals(1, tailer.poll());
+            assertEquals(Collections.singletonList("1"), ids(delivered));
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package test.datamanagement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import datamanagement.LoadResult;
+import datamanagement.PropertyReader;
+import common.Property;
+
+public class PropertyReaderTest {
+
+    // an OPA-like header: 80 columns, the needed ones out of order and far apart
+    private static final int COLUMNS = 80;
+    private static final int TOTAL_LIVABLE_AREA = 7;
+    private static final int ZIP_CODE = 22;
+    private static final int MARKET_VALUE = 61;
+    // PropertyReader's char buffer
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Writes the content to a temporary file, which is deleted when the JVM exits
+    private String writeFile(String content) throws IOException {
+        File file = File.createTempFile("properties", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.getPath();
+    }
+
+    private String header() {
+        String[] names = new String[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            names[i] = "column_" + i;
+        }
+        names[TOTAL_LIVABLE_AREA] = "total_livable_area";
+        names[ZIP_CODE] = "\"zip_code\"";
+        names[MARKET_VALUE] = "Market_Value ";
+        return String.join(",", names);
+    }
+
+    // A row of COLUMNS fields holding the three values; the other fields are fillers
+    private String row(String marketValue, String totalLivableArea, String zipCode) {
+        String[] fields = new String[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            fields[i] = "f" + i;
+        }
+        fields[MARKET_VALUE] = marketValue;
+        fields[TOTAL_LIVABLE_AREA] = totalLivableArea;
+        fields[ZIP_CODE] = zipCode;
+        return String.join(",", fields);
+    }
+
+    private List<String> describe(List<Property> properties) {
+        List<String> rows = new ArrayList<>();
+        for (Property p : properties) {
+            rows.add(p.getZipCode() + "|" + p.getMarketValue() + "|" + p.getTotalLivableArea());
+        }
+        return rows;
+    }
+
+    // The reader before PropertyCharScanner: each line split into every field by
+    // parseCSVLine, then the three columns taken from the fields
+    private List<Property> readWithParseCSVLine(String filename) throws IOException {
+        List<Property> properties = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return properties;
+            }
+            String[] headers = parseCSVLine(headerLine);
+            int marketValueIndex = -1;
+            int totalLivableAreaIndex = -1;
+            int zipCodeIndex = -1;
+            for (int i = 0; i < headers.length; i++) {
+                String header = headers[i].trim().toLowerCase();
+                if (header.equals("market_value")) {
+                    marketValueIndex = i;
+                } else if (header.equals("total_livable_area")) {
+                    totalLivableAreaIndex = i;
+                } else if (header.equals("zip_code")) {
+                    zipCodeIndex = i;
+                }
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = parseCSVLine(line);
+                if (fields.length > Math.max(marketValueIndex, Math.max(totalLivableAreaIndex, zipCodeIndex))) {
+                    String zipCode = fields[zipCodeIndex].trim();
+                    if (zipCode.isEmpty()) {
+                        continue;
+                    }
+                    if (zipCode.length() >= 5) {
+                        zipCode = zipCode.substring(0, 5);
+                    }
+                    properties.add(new Property(zipCode, parseDouble(fields[marketValueIndex]),
+                                                parseDouble(fields[totalLivableAreaIndex])));
+                }
+            }
+        }
+        return properties;
+    }
+
+    private Double parseDouble(String value) {
+        if (value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            double d = Double.parseDouble(value.trim());
+            if (d > 0) {
+                return d;
+            }
+        } catch (NumberFormatException e) {
+            // not a valid number
+        }
+        return null;
+    }
+
+    private String[] parseCSVLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder currentField = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (c == ',' && !inQuotes) {
+                fields.add(currentField.toString());
+                currentField = new StringBuilder();
+            } else {
+                currentField.append(c);
+            }
+        }
+        fields.add(currentField.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    // Reads the file with PropertyReader and the parseCSVLine reader and checks they agree
+    private List<String> readBoth(String content) throws IOException {
+        String file = writeFile(content);
+        List<String> expected = describe(readWithParseCSVLine(file));
+        assertEquals(expected, describe(PropertyReader.readFromCSV(file)));
+        return expected;
+    }
+
+    @Test
+    public void testColumnsOutOfHeaderOrder() throws IOException {
+        List<String> rows = readBoth(header() + "\n"
+                                     + row("250000", "1500", "19103") + "\n"
+                                     + row("0", "-3", "19104-1234") + "\n"
+                                     + row("N/A", " 812.5 ", " 191 ") + "\n");
+        assertEquals(Arrays.asList("19103|250000.0|1500.0", "19104|null|null", "191|null|812.5"), rows);
+    }
+
+    @Test
+    public void testQuotedCommasAroundTheNeededColumns() throws IOException {
+        // commas inside quotes before the first needed column, between two of them and after the last
+        String[] fields = row("250000", "1500", "19103").split(",");
+        fields[2] = "\"SMITH, JOHN\"";
+        fields[15] = "\"1, 2, 3\"";
+        fields[40] = "\"A,\"\"B\"\",C\"";
+        fields[70] = "\"x,y\"";
+        List<String> rows = readBoth(header() + "\n" + String.join(",", fields) + "\n");
+        assertEquals(Collections.singletonList("19103|250000.0|1500.0"), rows);
+    }
+
+    @Test
+    public void testQuotesAreDroppedFromNeededColumns() throws IOException {
+        List<String> rows = readBoth(header() + "\n"
+                                     + row("\"250000\"", "\"1,500\"", "\"19103-0001\"") + "\n"
+                                     + row("\"2\"\"5\"", "\" 90 \"", "\"\"") + "\n"
+                                     + row("1\"00\"", "\"\"", "\" 19106\"") + "\n");
+        // a quoted thousands separator isn't a number; a ZIP code of only quotes is empty
+        assertEquals(Arrays.asList("19103|250000.0|null", "19106|100.0|null"), rows);
+    }
+
+    @Test
+    public void testRowsShortOfTheLastNeededColumnAreSkipped() throws IOException {
+        String full = row("250000", "1500", "19103");
+        String[] fields = full.split(",");
+        String upToLast = String.join(",", Arrays.copyOf(fields, MARKET_VALUE + 1));
+        String shortOfLast = String.join(",", Arrays.copyOf(fields, MARKET_VALUE));
+        String content = header() + "\n" + upToLast + "\n" + shortOfLast + "\n" + "19103\n" + full + "\n";
+        List<String> rows = readBoth(content);
+        assertEquals(Arrays.asList("19103|250000.0|1500.0", "19103|250000.0|1500.0"), rows);
+
+        LoadResult<List<Property>> result = PropertyReader.readFromCSV(writeFile(content), null);
+        assertEquals(4, result.getReport().getRowsRead());
+        assertEquals(2, result.getReport().getRowsRejected());
+    }
+
+    @Test
+    public void testLineBreakSplitAcrossTheBuffer() throws IOException {
+        // a CRLF whose CR is the last char of the scanner's first buffer fill, and a lone CR in
+        // the same place; the LF starting the next fill must not end another row
+        for (String lineBreak : new String[] {"\r\n", "\r"}) {
+            // the header line is read before the scanner, so its buffer starts after it
+            StringBuilder content = new StringBuilder();
+            int rows = 0;
+            String row = row("250000", "1500", "19103");
+            while (content.length() + 2 * row.length() < BUFFER_SIZE) {
+                content.append(row).append(rows % 2 == 0 ? "\r\n" : "\n");
+                rows++;
+            }
+            // pad a skipped column so the row's line break starts at the buffer's last char
+            String[] fields = row("300000", "2000", "19104").split(",");
+            fields[0] = String.join("", Collections.nCopies(BUFFER_SIZE - 1 - content.length() - row.length(), "x"))
+                        + fields[0];
+            content.append(String.join(",", fields));
+            assertEquals(BUFFER_SIZE - 1, content.length());
+            content.append(lineBreak).append(row("400000", "2500", "19106")).append("\n");
+            rows += 2;
+
+            String file = writeFile(header() + "\n" + content);
+            List<String> expected = describe(readWithParseCSVLine(file));
+            assertEquals(rows, expected.size());
+            LoadResult<List<Property>> result = PropertyReader.readFromCSV(file, null);
+            assertEquals(expected, describe(result.getData()));
+            assertEquals(rows, result.getReport().getRowsRead());
+            assertEquals("19104|300000.0|2000.0", expected.get(rows - 2));
+            assertEquals("19106|400000.0|2500.0", expected.get(rows - 1));
+        }
+    }
+
+    @Test
+    public void testRowsLongerThanTheBuffer() throws IOException {
+        // a skipped column past the last needed one that is longer than the buffer
+        String[] fields = row("250000", "1500", "19103").split(",");
+        fields[COLUMNS - 1] = String.join("", Collections.nCopies(BUFFER_SIZE + 100, "y"));
+        List<String> rows = readBoth(header() + "\r\n" + String.join(",", fields) + "\r\n"
+                                     + row("300000", "2000", "19104") + "\r\n");
+        assertEquals(Arrays.asList("19103|250000.0|1500.0", "19104|300000.0|2000.0"), rows);
+    }
+
+    @Test
+    public void testLastRowWithoutLineBreak() throws IOException {
+        List<String> rows = readBoth(header() + "\n" + row("250000", "1500", "19103") + "\n"
+                                     + row("300000", "2000", "19104"));
+        assertEquals(Arrays.asList("19103|250000.0|1500.0", "19104|300000.0|2000.0"), rows);
+        // a last row short of the needed columns is still skipped
+        assertEquals(1, readBoth(header() + "\n" + row("250000", "1500", "19103") + "\n19104").size());
+    }
+
+    @Test
+    public void testHeaderOnlyAndEmptyFile() throws IOException {
+        assertEquals(0, readBoth(header()).size());
+        assertEquals(0, readBoth("").size());
+    }
+
+    @Test
+    public void testMissingColumnThrows() throws IOException {
+        String file = writeFile("market_value,zip_code\n1,19103\n");
+        assertThrows(IOException.class, () -> {
+            PropertyReader.readFromCSV(file);
+        });
+    }
+}
@@ -0,0 +1,141 @@
+package test.datamanagement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import datamanagement.ParkingViolationReader;
+import common.ParkingViolation;
+
+public class ReadFromCSVMappedTest {
+
+    private static final String ROW = "2013-04-05T12:00:00Z,36,METER EXPIRED,1234567,PA,2000001,19103";
+
+    // Writes the content to a temporary file, which is deleted when the JVM exits
+    private String writeFile(String content) throws IOException {
+        File file = File.createTempFile("violations", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.getPath();
+    }
+
+    private List<String> describe(List<ParkingViolation> violations) {
+        List<String> rows = new ArrayList<>();
+        for (ParkingViolation v : violations) {
+            rows.add(v.getTimestamp() + "|" + v.getFine() + "|" + v.getDescription() + "|" + v.getVehicleId()
+                     + "|" + v.getState() + "|" + v.getViolationId() + "|" + v.getZipCode());
+        }
+        return rows;
+    }
+
+    // Reads the file with readFromCSV and readFromCSVMapped and checks they agree
+    private List<String> readBoth(String content) throws IOException {
+        String file = writeFile(content);
+        List<String> expected = describe(ParkingViolationReader.readFromCSV(file));
+        assertEquals(expected, describe(ParkingViolationReader.readFromCSVMapped(file)));
+        return expected;
+    }
+
+    @Test
+    public void testLineEndings() throws IOException {
+        // LF, CRLF and lone CR all end a record
+        List<String> rows = readBoth(ROW + "\n" + ROW + "\r\n" + ROW + "\r" + ROW + "\n");
+        assertEquals(4, rows.size());
+    }
+
+    @Test
+    public void testMissingFinalNewline() throws IOException {
+        List<String> rows = readBoth(ROW + "\n" + ROW);
+        assertEquals(2, rows.size());
+    }
+
+    @Test
+    public void testQuotedCommasAndEscapedQuotes() throws IOException {
+        List<String> rows = readBoth(
+            "2013-04-05T12:00:00Z,36,\"METER, EXPIRED\",1234567,PA,2000001,19103\n"
+            + "2013-04-05T12:00:00Z,36,\"SAID \"\"HI\"\"\",1234567,PA,2000002,19103\n");
+        assertEquals(2, rows.size());
+        assertTrue(rows.get(0).contains("|METER, EXPIRED|"));
+        assertTrue(rows.get(1).contains("|SAID \"HI\"|"));
+    }
+
+    @Test
+    public void testOnlySevenFieldRowsAreKept() throws IOException {
+        List<String> rows = readBoth(
+            "2013-04-05T12:00:00Z,36,METER EXPIRED,1234567,PA,2000001\n"
+            + ROW + "\n"
+            + ROW + ",extra\n"
+            + "\n");
+        assertEquals(1, rows.size());
+    }
+
+    @Test
+    public void testFineFormats() throws IOException {
+        List<String> rows = readBoth(
+            "t,36.123456789012345678,d,v,PA,1,19103\n"
+            + "t,1.5e2,d,v,PA,2,19103\n"
+            + "t,-12.50,d,v,PA,3,19103\n"
+            + "t, 41 ,d,v,PA,4,19103\n"
+            + "t,N/A,d,v,PA,5,19103\n"
+            + "t,,d,v,PA,6,19103\n"
+            + "t,0x10p0,d,v,PA,7,19103\n");
+        assertEquals(5, rows.size());
+        assertTrue(rows.get(1).contains("|150.0|"));
+        assertTrue(rows.get(2).contains("|-12.5|"));
+        assertTrue(rows.get(3).contains("|41.0|"));
+    }
+
+    @Test
+    public void testZipCodes() throws IOException {
+        List<String> rows = readBoth(
+            "t,36,d,v,PA,1,19103-1234\n"
+            + "t,36,d,v,PA,2,\n"
+            + "t,36,d,v,PA,3,   \n"
+            + "t,36,d,v,PA,4,191\n"
+            + "t,36,d,v,PA,5,\"19104\"\n");
+        assertEquals(5, rows.size());
+        assertTrue(rows.get(0).endsWith("|19103"));
+        assertTrue(rows.get(1).endsWith("|null"));
+        assertTrue(rows.get(2).endsWith("|null"));
+        assertTrue(rows.get(3).endsWith("|191"));
+        assertTrue(rows.get(4).endsWith("|19104"));
+    }
+
+    @Test
+    public void testLinesCrossingSmallWindows() throws IOException {
+        // windows smaller than a line, so lines cross window ends and the window has to
+        // grow; a CRLF split across two windows must not add a row
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append("2013-04-05T12:00:00Z,").append(i).append(",DESC ").append(i)
+                   .append(",1234567,PA,").append(i).append(",19103").append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        content.append("2013-04-05T12:00:00Z,99,").append(String.join("", Collections.nCopies(500, "x")))
+               .append(",1234567,PA,200,19104");
+        String file = writeFile(content.toString());
+
+        List<String> expected = describe(ParkingViolationReader.readFromCSV(file));
+        assertEquals(201, expected.size());
+        for (int windowSize : new int[] {1, 7, 64, 71, 4096}) {
+            List<ParkingViolation> violations =
+                ParkingViolationReader.readFromCSVMapped(file, null, windowSize).getData();
+            assertEquals(expected, describe(violations), "window size " + windowSize);
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        assertEquals(0, readBoth("").size());
+    }
+
+    @Test
+    public void testInvalidWindowSize() throws IOException {
+        String file = writeFile(ROW);
+        assertThrows(IllegalArgumentException.class, () -> {
+            ParkingViolationReader.readFromCSVMapped(file, null, 0);
+        });
+    }
+}
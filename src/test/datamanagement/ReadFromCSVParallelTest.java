@@ -0,0 +1,135 @@
+package test.datamanagement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import datamanagement.LoadResult;
+import datamanagement.ParkingViolationReader;
+import common.ParkingViolation;
+
+public class ReadFromCSVParallelTest {
+
+    // Writes the content to a temporary file, which is deleted when the JVM exits
+    private String writeFile(String content) throws IOException {
+        File file = File.createTempFile("violations", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.getPath();
+    }
+
+    private List<String> describe(List<ParkingViolation> violations) {
+        List<String> rows = new ArrayList<>();
+        for (ParkingViolation v : violations) {
+            rows.add(v.getTimestamp() + "|" + v.getFine() + "|" + v.getDescription() + "|" + v.getVehicleId()
+                     + "|" + v.getState() + "|" + v.getViolationId() + "|" + v.getZipCode());
+        }
+        return rows;
+    }
+
+    private String violationRows(int count) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            content.append("2013-04-05T12:00:00Z,").append(i % 50).append(",DESC,1234567,PA,")
+                   .append(i).append(",191").append(i % 100).append('\n');
+            if (i % 17 == 0) {
+                content.append("bad,row\n");
+            }
+        }
+        return content.toString();
+    }
+
+    @Test
+    public void testBoundaryOnCarriageReturnLineFeed() throws IOException {
+        // 8 CRLF lines of 20 bytes, the first one a byte longer: 161 bytes, split into 4 chunks
+        // at 40, 80 and 120, which are exactly the LFs of lines 2, 4 and 6
+        StringBuilder content = new StringBuilder("t,3,d,v,P,10,191030\r\n");
+        for (int i = 1; i < 8; i++) {
+            content.append("t,3,d,v,P,1").append(i).append(",19103\r\n");
+        }
+        assertEquals(161, content.length());
+        assertEquals('\n', content.charAt(40));
+        assertEquals('\n', content.charAt(80));
+        assertEquals('\n', content.charAt(120));
+        String file = writeFile(content.toString());
+
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            LoadResult<List<ParkingViolation>> result =
+                ParkingViolationReader.readFromCSVParallel(file, true, pool, null, 1);
+            assertEquals(describe(ParkingViolationReader.readFromCSV(file)), describe(result.getData()));
+            // a split between CR and LF would show up as an extra, empty line
+            assertEquals(8, result.getReport().getRowsRead());
+            assertEquals(0, result.getReport().getRowsRejected());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPreserveOrderAcrossManyChunks() throws IOException {
+        String file = writeFile(violationRows(500));
+        List<String> expected = describe(ParkingViolationReader.readFromCSV(file));
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            // 3 threads, 4 chunks each
+            LoadResult<List<ParkingViolation>> ordered =
+                ParkingViolationReader.readFromCSVParallel(file, true, pool, null, 64);
+            assertEquals(expected, describe(ordered.getData()));
+            assertEquals(500, ordered.getReport().getRowsAccepted());
+            assertEquals(30, ordered.getReport().getRowsRejected());
+
+            List<String> unordered = describe(
+                ParkingViolationReader.readFromCSVParallel(file, false, pool, null, 64).getData());
+            List<String> sortedExpected = new ArrayList<>(expected);
+            Collections.sort(sortedExpected);
+            Collections.sort(unordered);
+            assertEquals(sortedExpected, unordered);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testFileSmallerThanMinimumChunk() throws IOException {
+        // below the default minimum chunk size the file is read as one chunk
+        String file = writeFile(violationRows(20));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(describe(ParkingViolationReader.readFromCSV(file)),
+                         describe(ParkingViolationReader.readFromCSVParallel(file, true, pool)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        String file = writeFile("");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            LoadResult<List<ParkingViolation>> result =
+                ParkingViolationReader.readFromCSVParallel(file, true, pool, null, 1);
+            assertTrue(result.getData().isEmpty());
+            assertEquals(0, result.getReport().getRowsRead());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() throws IOException {
+        String file = writeFile(violationRows(1));
+        assertThrows(IllegalArgumentException.class, () -> {
+            ParkingViolationReader.readFromCSVParallel(file, true, null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            ParkingViolationReader.readFromCSVParallel(file, true, ForkJoinPool.commonPool(), null, 0);
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package test.datamanagement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import datamanagement.ParkingViolationReader;
+import common.ParkingViolation;
+
+public class ReadFromJSONStreamingTest {
+
+    // Writes the content to a temporary file, which is deleted when the JVM exits
+    private String writeFile(String content) throws IOException {
+        File file = File.createTempFile("violations", ".json");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.getPath();
+    }
+
+    private List<String> describe(List<ParkingViolation> violations) {
+        List<String> rows = new ArrayList<>();
+        for (ParkingViolation v : violations) {
+            rows.add(v.getTimestamp() + "|" + v.getFine() + "|" + v.getDescription() + "|" + v.getVehicleId()
+                     + "|" + v.getState() + "|" + v.getViolationId() + "|" + v.getZipCode());
+        }
+        return rows;
+    }
+
+    // Reads the file with readFromJSON and readFromJSONStreaming and checks they agree
+    private List<String> readBoth(String content) throws IOException {
+        String file = writeFile(content);
+        List<String> expected = describe(ParkingViolationReader.readFromJSON(file));
+        assertEquals(expected, describe(ParkingViolationReader.readFromJSONStreaming(file)));
+        return expected;
+    }
+
+    @Test
+    public void testPlainObjects() throws IOException {
+        List<String> rows = readBoth("[{\"timestamp\": \"2013-04-05T12:00:00Z\", \"fine\": 36,"
+            + " \"description\": \"METER EXPIRED\", \"vehicle_id\": 1234567, \"state\": \"PA\","
+            + " \"violation_id\": 2000001, \"zip_code\": 19103}]");
+        assertEquals(Collections.singletonList("2013-04-05T12:00:00Z|36.0|METER EXPIRED|1234567|PA|2000001|19103"),
+                     rows);
+    }
+
+    @Test
+    public void testNestedValues() throws IOException {
+        // nested objects and arrays under known keys become their JSON text; under unknown
+        // keys they are ignored, however deep
+        List<String> rows = readBoth("[{\"timestamp\": \"t\", \"fine\": 36, \"description\": {\"code\": [1, 2]},"
+            + " \"extra\": {\"fine\": 99, \"zip_code\": \"00000\", \"list\": [{\"a\": [[]]}]},"
+            + " \"state\": [\"PA\", \"NJ\"], \"zip_code\": \"19103\"},"
+            + " {\"fine\": \"40.5\", \"zip_code\": \"19104\", \"more\": [[{}], {}]}]");
+        assertEquals(2, rows.size());
+        assertTrue(rows.get(0).endsWith("|19103"));
+        assertTrue(rows.get(0).contains("|36.0|"));
+        assertTrue(rows.get(1).startsWith("|40.5|"));
+    }
+
+    @Test
+    public void testNonObjectElementsAreSkipped() throws IOException {
+        List<String> rows = readBoth("[1, \"text\", null, true, [{\"fine\": 1}],"
+            + " {\"fine\": 20, \"zip_code\": \"19103\"}, [], 2.5]");
+        assertEquals(1, rows.size());
+        assertTrue(rows.get(0).contains("|20.0|"));
+    }
+
+    @Test
+    public void testStringAndNumberZipCodes() throws IOException {
+        List<String> rows = readBoth("[{\"zip_code\": \"19103-1234\"}, {\"zip_code\": 19104},"
+            + " {\"zip_code\": 191051234}, {\"zip_code\": \"\"}, {\"zip_code\": null}, {}, {\"zip_code\": 191}]");
+        List<String> zipCodes = new ArrayList<>();
+        for (String row : rows) {
+            zipCodes.add(row.substring(row.lastIndexOf('|') + 1));
+        }
+        assertEquals(Arrays.asList("19103", "19104", "19105", "null", "null", "null", "191"), zipCodes);
+    }
+
+    @Test
+    public void testEmptyArrayAndTopLevelObject() throws IOException {
+        assertTrue(readBoth("[]").isEmpty());
+        assertTrue(readBoth("{\"fine\": 36, \"zip_code\": \"19103\"}").isEmpty());
+    }
+
+    @Test
+    public void testInvalidJSONThrows() throws IOException {
+        String file = writeFile("[{\"fine\": 36,");
+        assertThrows(IOException.class, () -> {
+            ParkingViolationReader.readFromJSONStreaming(file);
+        });
+        assertThrows(IOException.class, () -> {
+            ParkingViolationReader.readFromJSON(file);
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package test.datamanagement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import datamanagement.ZipReportWriter;
+import common.ZipReportRow;
+
+public class ZipReportWriterTest {
+
+    private static final String HEADER = "zip_code,population,total_fines,fines_per_capita,"
+            + "average_market_value,average_total_livable_area,market_value_per_capita\n";
+
+    // A ZIP code with population and data, and one with no population: its per-capita
+    // fines are NaN for 0/0 and infinite for fines over 0
+    private List<ZipReportRow> rows() {
+        return Arrays.asList(new ZipReportRow("19103", 10, 150.5, 15.05, 200000, 2000, 20000),
+                             new ZipReportRow("19104", 0, 0.0, Double.NaN, 0, 0, 0),
+                             new ZipReportRow("19106", 0, 30.0, Double.POSITIVE_INFINITY, 0, 0, 0));
+    }
+
+    private String csv(List<ZipReportRow> rows) throws IOException {
+        StringWriter out = new StringWriter();
+        ZipReportWriter.writeCSV(rows, out);
+        return out.toString();
+    }
+
+    private String json(List<ZipReportRow> rows) throws IOException {
+        StringWriter out = new StringWriter();
+        ZipReportWriter.writeJSON(rows, out);
+        return out.toString();
+    }
+
+    // Writes the rows to a temporary file with the suffix and returns its content
+    private String writeToFile(List<ZipReportRow> rows, String suffix) throws IOException {
+        File file = File.createTempFile("report", suffix);
+        file.deleteOnExit();
+        ZipReportWriter.writeToFile(rows, file.getPath());
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testCSV() throws IOException {
+        assertEquals(HEADER
+                     + "19103,10,150.5,15.05,200000,2000,20000\n"
+                     + "19104,0,0.0,NaN,0,0,0\n"
+                     + "19106,0,30.0,Infinity,0,0,0\n",
+                     csv(rows()));
+        assertEquals(HEADER, String.join(",", ZipReportWriter.COLUMNS) + "\n");
+    }
+
+    @Test
+    public void testCSVQuotesZipCodes() throws IOException {
+        // a field with a separator, quote or line break is quoted and its quotes doubled
+        List<ZipReportRow> rows = Arrays.asList(new ZipReportRow("191,03", 1, 1.0, 1.0, 1, 1, 1),
+                                                new ZipReportRow("19\"104", 1, 1.0, 1.0, 1, 1, 1),
+                                                new ZipReportRow("19\n106", 1, 1.0, 1.0, 1, 1, 1),
+                                                new ZipReportRow("19\r107", 1, 1.0, 1.0, 1, 1, 1));
+        assertEquals(HEADER
+                     + "\"191,03\",1,1.0,1.0,1,1,1\n"
+                     + "\"19\"\"104\",1,1.0,1.0,1,1,1\n"
+                     + "\"19\n106\",1,1.0,1.0,1,1,1\n"
+                     + "\"19\r107\",1,1.0,1.0,1,1,1\n",
+                     csv(rows));
+    }
+
+    @Test
+    public void testJSON() throws IOException {
+        // JSON has no NaN or Infinity, so those are null
+        assertEquals("[\n"
+                     + "{\"zip_code\":\"19103\",\"population\":10,\"total_fines\":150.5,\"fines_per_capita\":15.05,"
+                     + "\"average_market_value\":200000,\"average_total_livable_area\":2000,"
+                     + "\"market_value_per_capita\":20000},\n"
+                     + "{\"zip_code\":\"19104\",\"population\":0,\"total_fines\":0.0,\"fines_per_capita\":null,"
+                     + "\"average_market_value\":0,\"average_total_livable_area\":0,"
+                     + "\"market_value_per_capita\":0},\n"
+                     + "{\"zip_code\":\"19106\",\"population\":0,\"total_fines\":30.0,\"fines_per_capita\":null,"
+                     + "\"average_market_value\":0,\"average_total_livable_area\":0,"
+                     + "\"market_value_per_capita\":0}\n"
+                     + "]\n",
+                     json(rows()));
+        assertEquals("[\n{\"zip_code\":\"19\\\"103\",\"population\":1,\"total_fines\":1.0,\"fines_per_capita\":1.0,"
+                     + "\"average_market_value\":1,\"average_total_livable_area\":1,"
+                     + "\"market_value_per_capita\":1}\n]\n",
+                     json(Collections.singletonList(new ZipReportRow("19\"103", 1, 1.0, 1.0, 1, 1, 1))));
+    }
+
+    @Test
+    public void testEmptyReport() throws IOException {
+        List<ZipReportRow> rows = Collections.emptyList();
+        assertEquals(HEADER, csv(rows));
+        assertEquals("[]\n", json(rows));
+    }
+
+    @Test
+    public void testWriteToFileChoosesFormatBySuffix() throws IOException {
+        assertEquals(json(rows()), writeToFile(rows(), ".json"));
+        assertEquals(json(rows()), writeToFile(rows(), ".JSON"));
+        assertEquals(csv(rows()), writeToFile(rows(), ".csv"));
+        assertEquals(csv(rows()), writeToFile(rows(), ".txt"));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            ZipReportWriter.writeCSV(null, new StringWriter());
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            ZipReportWriter.writeJSON(rows(), null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            ZipReportWriter.writeToFile(rows(), " ");
+        });
+    }
+}
@@ -0,0 +1,141 @@
+package test.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.*;
+import processor.DataProcessor;
+import common.ParkingViolation;
+import common.Property;
+
+public class AddDataTest {
+
+    @Test
+    public void testAddViolationsUpdatesFinesPerCapita() {
+        // Appended violations should show up in a previously cached result
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(createViolation(100.0, "PA", "19103"));
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19103", 10);
+        population.put("19104", 20);
+
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, new ArrayList<>(), population);
+        assertEquals(10.0, processor.getFinesPerCapita().get("19103").doubleValue(), 0.0001);
+
+        List<ParkingViolation> batch = new ArrayList<>();
+        batch.add(createViolation(50.0, "PA", "19103"));
+        batch.add(createViolation(40.0, "PA", "19104"));
+        batch.add(createViolation(999.0, "NJ", "19104"));
+        processor.addViolations(batch);
+
+        Map<String, Double> result = processor.getFinesPerCapita();
+        assertEquals(15.0, result.get("19103").doubleValue(), 0.0001);
+        assertEquals(2.0, result.get("19104").doubleValue(), 0.0001);
+    }
+
+    @Test
+    public void testAddPropertiesUpdatesAverages() {
+        // Appended properties should show up in every property query
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19103", 10);
+
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(new ArrayList<>(), properties, population);
+        assertEquals(100000, processor.getAverageMarketValue("19103"));
+        assertEquals(1000, processor.getAverageTotalLivableArea("19103"));
+        assertEquals(10000, processor.getMarketValuePerCapita("19103"));
+        assertEquals(0, processor.getAverageMarketValue("19105"));
+
+        List<Property> batch = new ArrayList<>();
+        batch.add(new Property("19103", 300000.0, 3000.0));
+        batch.add(new Property("19105", 70000.0, 700.0));
+        processor.addProperties(batch);
+
+        assertEquals(200000, processor.getAverageMarketValue("19103"));
+        assertEquals(2000, processor.getAverageTotalLivableArea("19103"));
+        assertEquals(40000, processor.getMarketValuePerCapita("19103"));
+        assertEquals(70000, processor.getAverageMarketValue("19105"));
+    }
+
+    @Test
+    public void testAddPropertiesOnlyInvalidatesAffectedZipCodes() {
+        // Cached results of ZIP codes outside the batch should stay cached
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        properties.add(new Property("19104", 200000.0, 2000.0));
+
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(new ArrayList<>(), properties, new HashMap<>());
+        processor.getAverageMarketValue("19103");
+        processor.getAverageMarketValue("19104");
+
+        List<Property> batch = new ArrayList<>();
+        batch.add(new Property("19103", 300000.0, 3000.0));
+        processor.addProperties(batch);
+        processor.getAverageMarketValue("19103");
+        processor.getAverageMarketValue("19104");
+
+        assertEquals(3, processor.getCacheStats().get("averageMarketValue").getMissCount());
+        assertEquals(1, processor.getCacheStats().get("averageMarketValue").getHitCount());
+    }
+
+    @Test
+    public void testAddWithNullBatch() {
+        // Null batches should throw exception
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(new ArrayList<>(), new ArrayList<>(), new HashMap<>());
+        assertThrows(IllegalArgumentException.class, () -> {
+            processor.addViolations(null);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            processor.addProperties(null);
+        });
+    }
+
+    @Test
+    public void testReadersSeeConsistentTotalsDuringAppends() throws Exception {
+        // Readers running alongside appends should only ever see whole batches
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(new ArrayList<>(), new ArrayList<>(), new HashMap<>());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    List<Property> batch = new ArrayList<>();
+                    batch.add(new Property("19103", 100000.0, 1000.0));
+                    batch.add(new Property("19103", 300000.0, 3000.0));
+                    processor.addProperties(batch);
+                }
+            });
+            List<Future<Boolean>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    while (!writer.isDone()) {
+                        int average = processor.getAverageMarketValue("19103");
+                        if (average != 0 && average != 200000) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            writer.get(10, TimeUnit.SECONDS);
+            for (Future<Boolean> reader : readers) {
+                assertTrue(reader.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, processor.getZipReport().size());
+        assertEquals(200000, processor.getAverageMarketValue("19103"));
+    }
+
+    // Helper method to create a parking violation
+    private ParkingViolation createViolation(double fine, String state, String zipCode) {
+        return new ParkingViolation("2024-01-01T10:00:00Z", fine, "Description",
+                                   "VEH001", state, "VIOL001", zipCode);
+    }
+}
@@ -0,0 +1,145 @@
+package test.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import processor.BoundedMemoCache;
+import processor.CacheStats;
+import processor.MemoCache;
+
+public class BoundedMemoCacheTest {
+
+    @Test
+    public void testConstructorWithInvalidCapacity() {
+        // Capacity must be positive
+        assertThrows(IllegalArgumentException.class, () -> {
+            new BoundedMemoCache<String, Integer>(0);
+        });
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        // When full, the entry used longest ago should be dropped
+        MemoCache<String, Integer> cache = new BoundedMemoCache<>(2);
+        cache.get("19103", key -> 1);
+        cache.get("19104", key -> 2);
+        cache.get("19103", key -> -1);
+        cache.get("19106", key -> 3);
+
+        assertEquals(2, cache.size());
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals(1, cache.get("19103", key -> { loads.incrementAndGet(); return -1; }));
+        assertEquals(3, cache.get("19106", key -> { loads.incrementAndGet(); return -1; }));
+        assertEquals(0, loads.get());
+        assertEquals(7, cache.get("19104", key -> 7));
+        assertEquals(2, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    public void testEntriesExpireAfterTTL() {
+        // Entries older than the TTL should be loaded again
+        AtomicLong now = new AtomicLong();
+        MemoCache<String, Integer> cache = new BoundedMemoCache<>(10, 5, TimeUnit.SECONDS, now::get);
+        cache.get("19103", key -> 1);
+
+        now.set(TimeUnit.SECONDS.toNanos(4));
+        assertEquals(1, cache.get("19103", key -> 2));
+        now.set(TimeUnit.SECONDS.toNanos(5));
+        assertEquals(2, cache.get("19103", key -> 2));
+        assertEquals(1, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    public void testCleanUpDropsExpiredEntries() {
+        // cleanUp() should remove expired entries without a lookup
+        AtomicLong now = new AtomicLong();
+        BoundedMemoCache<String, Integer> cache = new BoundedMemoCache<>(10, 1, TimeUnit.MILLISECONDS, now::get);
+        cache.get("19103", key -> 1);
+        cache.get("19104", key -> 2);
+
+        now.set(TimeUnit.MILLISECONDS.toNanos(1));
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testStatsCountHitsAndMisses() {
+        // Stats should count hits, misses and loader time
+        MemoCache<String, Integer> cache = new BoundedMemoCache<>(10);
+        cache.get("19103", key -> 1);
+        cache.get("19103", key -> 1);
+        cache.get("19103", key -> 1);
+        cache.get("19104", key -> 2);
+
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(0, stats.getEvictionCount());
+        assertEquals(0.5, stats.getHitRate(), 0.0001);
+        assertTrue(stats.getTotalLoadNanos() >= 0);
+    }
+
+    @Test
+    public void testInvalidateAndClear() {
+        // Invalidated keys should be recomputed; clear() should drop everything
+        MemoCache<String, Integer> cache = new BoundedMemoCache<>(10);
+        cache.get("19103", key -> 1);
+        cache.get("19104", key -> 2);
+
+        cache.invalidate("19103");
+        assertEquals(10, cache.get("19103", key -> 10));
+        assertEquals(2, cache.get("19104", key -> 20));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() {
+        // A loader exception should reach the caller and leave no entry behind
+        MemoCache<String, Integer> cache = new BoundedMemoCache<>(10);
+        assertThrows(IllegalStateException.class, () -> {
+            cache.get("19103", key -> { throw new IllegalStateException("boom"); });
+        });
+        assertEquals(0, cache.size());
+        assertEquals(4, cache.get("19103", key -> 4));
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneLoad() throws Exception {
+        // Threads asking for the same missing key should wait for a single load
+        MemoCache<String, Integer> cache = new BoundedMemoCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("19103", key -> {
+                        loads.incrementAndGet();
+                        try {
+                            Thread.sleep(50);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return 42;
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().getMissCount());
+        assertEquals(7, cache.stats().getHitCount());
+    }
+}
@@ -0,0 +1,86 @@
+package test.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.*;
+import processor.DataProcessor;
+import common.ParkingViolation;
+import common.Property;
+
+public class ConcurrentQueriesTest {
+
+    @Test
+    public void testConcurrentQueriesMatchSerialResults() throws Exception {
+        // Queries from many threads at once should see the same results as one thread
+        List<ParkingViolation> violations = new ArrayList<>();
+        List<Property> properties = new ArrayList<>();
+        Map<String, Integer> population = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            String zipCode = String.valueOf(19100 + i);
+            population.put(zipCode, 1000 + i);
+            for (int j = 0; j < 50; j++) {
+                violations.add(new ParkingViolation("2024-01-01T10:00:00Z", 10.0 + j, "Description",
+                                                    "VEH" + j, "PA", "VIOL" + j, zipCode));
+                properties.add(new Property(zipCode, 100000.0 + j * i, 1000.0 + j));
+            }
+        }
+
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+        Map<String, Double> expectedFines = processor.getFinesPerCapita();
+        Map<String, Integer> expectedValues = new HashMap<>();
+        for (String zipCode : population.keySet()) {
+            expectedValues.put(zipCode, processor.getAverageMarketValue(zipCode));
+        }
+        processor.invalidateCaches();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    for (int round = 0; round < 100; round++) {
+                        if (!expectedFines.equals(processor.getFinesPerCapita())) {
+                            return false;
+                        }
+                        for (String zipCode : population.keySet()) {
+                            if (expectedValues.get(zipCode) != processor.getAverageMarketValue(zipCode)) {
+                                return false;
+                            }
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentGetInstanceCreatesOneInstance() throws Exception {
+        // Concurrent first calls to getInstance should all get the same instance
+        DataProcessor.resetInstance();
+        List<ParkingViolation> violations = new ArrayList<>();
+        List<Property> properties = new ArrayList<>();
+        Map<String, Integer> population = new HashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<DataProcessor>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> DataProcessor.getInstance(violations, properties, population)));
+            }
+            DataProcessor first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<DataProcessor> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -3,6 +3,8 @@ package test.processor;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import java.util.*;
+import processor.BoundedMemoCache;
+import processor.CacheStats;
 import processor.DataProcessor;
 import common.ParkingViolation;
 import common.Property;
@@ -150,5 +152,49 @@ public class GetAverageMarketValueTest {
         int result2 = processor.getAverageMarketValue("19103");
         assertEquals(100000, result2); // Should be cached value, not new value
     }
-}
 
+    @Test
+    public void testGetAverageMarketValueIgnoresPropertiesWithoutZipCode() {
+        //    Properties without a ZIP code should not match an unknown ZIP code
+        List<ParkingViolation> violations = new ArrayList<>();
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property(null, 100000.0, 1000.0));
+        
+        Map<String, Integer> population = new HashMap<>();
+        
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+        int result = processor.getAverageMarketValue("19199");
+        
+        assertEquals(0, result);
+    }
+
+    @Test
+    public void testGetAverageMarketValueCacheIsBounded() {
+        //    Unknown ZIP codes should not grow the cache past its capacity
+        List<ParkingViolation> violations = new ArrayList<>();
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        
+        Map<String, Integer> population = new HashMap<>();
+        
+        DataProcessor.resetInstance();
+        DataProcessor.setCacheFactory(() -> new BoundedMemoCache<>(2));
+        try {
+            DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+            for (int i = 0; i < 100; i++) {
+                assertEquals(0, processor.getAverageMarketValue("bogus" + i));
+            }
+            assertEquals(100000, processor.getAverageMarketValue("19103"));
+            assertEquals(100000, processor.getAverageMarketValue("19103"));
+            
+            CacheStats stats = processor.getCacheStats().get("averageMarketValue");
+            assertEquals(101, stats.getMissCount());
+            assertEquals(1, stats.getHitCount());
+            assertEquals(99, stats.getEvictionCount());
+        } finally {
+            DataProcessor.resetCacheFactory();
+            DataProcessor.resetInstance();
+        }
+    }
+}
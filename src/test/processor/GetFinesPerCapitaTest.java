@@ -517,5 +517,30 @@ public class GetFinesPerCapitaTest {
         assertEquals(1.0 / 3.0, result.get("19103"), 0.0001);
     }
 
-}
+    @Test
+    public void testGetFinesPerCapitaWithMemoizationCache() {
+        //  Second call should return the cached result until caches are invalidated
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(new ParkingViolation("2024-01-01T10:00:00Z", 100.0, "Description", "VEH001", "PA", "VIOL001", "19103"));
 
+        List<Property> properties = new ArrayList<>();
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19103", 1000);
+
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+        Map<String, Double> result1 = processor.getFinesPerCapita();
+        assertEquals(0.1, result1.get("19103"), 0.0001);
+
+        // Changing the returned map or the population should not change the cached result
+        result1.clear();
+        population.put("19103", 500);
+        Map<String, Double> result2 = processor.getFinesPerCapita();
+        assertEquals(0.1, result2.get("19103"), 0.0001);
+
+        // After invalidation the result is recomputed from the current population
+        processor.invalidateCaches();
+        Map<String, Double> result3 = processor.getFinesPerCapita();
+        assertEquals(0.2, result3.get("19103"), 0.0001);
+    }
+}
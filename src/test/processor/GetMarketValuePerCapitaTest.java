@@ -165,5 +165,26 @@ public class GetMarketValuePerCapitaTest {
             processor.getMarketValuePerCapita(null);
         });
     }
-}
 
+    @Test
+    public void testGetMarketValuePerCapitaWithMemoizationCache() {
+        // Test case: Second call should return cached result until caches are invalidated
+        List<ParkingViolation> violations = new ArrayList<>();
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19103", 2);
+        
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+        assertEquals(50000, processor.getMarketValuePerCapita("19103"));
+        
+        // Population change is not seen while the result is cached
+        population.put("19103", 4);
+        assertEquals(50000, processor.getMarketValuePerCapita("19103"));
+        
+        processor.invalidateCaches();
+        assertEquals(25000, processor.getMarketValuePerCapita("19103"));
+    }
+}
@@ -0,0 +1,85 @@
+package test.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import processor.DataProcessor;
+import common.ParkingViolation;
+import common.Property;
+import common.ZipReportRow;
+
+public class GetZipReportTest {
+
+    @Test
+    public void testReportMatchesPerZipQueries() {
+        // Every column should equal the corresponding single query
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(createViolation(100.0, "PA", "19103"));
+        violations.add(createViolation(50.0, "PA", "19103"));
+        violations.add(createViolation(70.0, "NJ", "19104"));
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        properties.add(new Property("19103", 300000.0, 3000.0));
+        properties.add(new Property("19104", 200000.0, null));
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19103", 10);
+        population.put("19104", 20);
+
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+        Map<String, ZipReportRow> report = processor.getZipReport();
+
+        assertEquals(Arrays.asList("19103", "19104"), new ArrayList<>(report.keySet()));
+        ZipReportRow row = report.get("19103");
+        assertEquals(10, row.getPopulation());
+        assertEquals(150.0, row.getTotalFines(), 0.0001);
+        assertEquals(processor.getFinesPerCapita().get("19103").doubleValue(), row.getFinesPerCapita(), 0.0001);
+        assertEquals(processor.getAverageMarketValue("19103"), row.getAverageMarketValue());
+        assertEquals(processor.getAverageTotalLivableArea("19103"), row.getAverageTotalLivableArea());
+        assertEquals(processor.getMarketValuePerCapita("19103"), row.getMarketValuePerCapita());
+
+        // NJ violations don't count and no livable area is valid
+        row = report.get("19104");
+        assertEquals(0.0, row.getTotalFines(), 0.0001);
+        assertEquals(0.0, row.getFinesPerCapita(), 0.0001);
+        assertEquals(200000, row.getAverageMarketValue());
+        assertEquals(0, row.getAverageTotalLivableArea());
+        assertEquals(10000, row.getMarketValuePerCapita());
+    }
+
+    @Test
+    public void testReportIncludesZipCodesOnlyInOneSource() {
+        // ZIP codes from the population map or the data alone should each get a row
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(createViolation(30.0, "PA", "19106"));
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property(null, 100000.0, 1000.0));
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19102", 5);
+
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+        Map<String, ZipReportRow> report = processor.getZipReport();
+
+        assertEquals(Arrays.asList("19102", "19106"), new ArrayList<>(report.keySet()));
+        assertEquals(5, report.get("19102").getPopulation());
+        assertEquals(0, report.get("19102").getAverageMarketValue());
+        assertEquals(0, report.get("19106").getPopulation());
+        assertEquals(30.0, report.get("19106").getTotalFines(), 0.0001);
+        assertEquals(0.0, report.get("19106").getFinesPerCapita(), 0.0001);
+    }
+
+    @Test
+    public void testReportWithNoData() {
+        // Empty inputs should give an empty report
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(new ArrayList<>(), new ArrayList<>(), new HashMap<>());
+        assertTrue(processor.getZipReport().isEmpty());
+    }
+
+    // Helper method to create a parking violation
+    private ParkingViolation createViolation(double fine, String state, String zipCode) {
+        return new ParkingViolation("2024-01-01T10:00:00Z", fine, "Description",
+                                   "VEH001", state, "VIOL001", zipCode);
+    }
+}
@@ -0,0 +1,118 @@
+package test.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import processor.DataProcessor;
+import processor.ZipMetric;
+import common.ParkingViolation;
+import common.Property;
+
+public class JfrEventsTest {
+
+    private DataProcessor createProcessor() {
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(new ParkingViolation("2024-01-01", 50.0, "DESC", "V1", "PA", "X1", "19103"));
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        properties.add(new Property("19104", 200000.0, 2000.0));
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19103", 10);
+        population.put("19104", 20);
+
+        DataProcessor.resetInstance();
+        return DataProcessor.getInstance(violations, properties, population);
+    }
+
+    // Runs the action under a recording of the processor events and returns what it recorded
+    private List<RecordedEvent> record(Runnable action) throws Exception {
+        Path file = Files.createTempFile("processor-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("processor.Query").withThreshold(java.time.Duration.ZERO);
+            recording.enable("processor.CacheInvalidation").withThreshold(java.time.Duration.ZERO);
+            recording.enable("processor.AggregateRebuild").withThreshold(java.time.Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                matching.add(event);
+            }
+        }
+        return matching;
+    }
+
+    @Test
+    public void testPerZipQueryRecordsMissThenHit() throws Exception {
+        DataProcessor processor = createProcessor();
+
+        List<RecordedEvent> queries = named(record(() -> {
+            processor.getAverageMarketValue("19103");
+            processor.getAverageMarketValue("19103");
+        }), "processor.Query");
+
+        assertEquals(2, queries.size());
+        assertEquals("averageMarketValue", queries.get(0).getString("query"));
+        assertEquals(ZipMetric.AVERAGE_MARKET_VALUE.name(), queries.get(0).getString("metric"));
+        assertEquals("19103", queries.get(0).getString("zipCode"));
+        assertFalse(queries.get(0).getBoolean("cacheHit"));
+        assertTrue(queries.get(1).getBoolean("cacheHit"));
+        assertEquals(0, queries.get(1).getLong("rowsScanned"));
+    }
+
+    @Test
+    public void testBatchQueryRecordsZipCount() throws Exception {
+        DataProcessor processor = createProcessor();
+
+        List<RecordedEvent> queries = named(record(() ->
+            processor.processZipCodes(ZipMetric.AVERAGE_MARKET_VALUE, "19103", "19104", "19105")
+        ), "processor.Query");
+
+        assertEquals(1, queries.size());
+        assertEquals("processZipCodes", queries.get(0).getString("query"));
+        assertEquals(3, queries.get(0).getInt("zipCount"));
+    }
+
+    @Test
+    public void testAddPropertiesRecordsRebuildAndInvalidation() throws Exception {
+        DataProcessor processor = createProcessor();
+
+        List<RecordedEvent> events = record(() ->
+            processor.addProperties(Collections.singletonList(new Property("19104", 300000.0, 3000.0)))
+        );
+
+        List<RecordedEvent> rebuilds = named(events, "processor.AggregateRebuild");
+        assertEquals(1, rebuilds.size());
+        assertEquals("addProperties", rebuilds.get(0).getString("reason"));
+        List<RecordedEvent> invalidations = named(events, "processor.CacheInvalidation");
+        assertEquals(1, invalidations.size());
+        assertEquals("perZip", invalidations.get(0).getString("caches"));
+        assertEquals(1, invalidations.get(0).getInt("keys"));
+    }
+
+    @Test
+    public void testInvalidateCachesRecordsClear() throws Exception {
+        DataProcessor processor = createProcessor();
+
+        List<RecordedEvent> invalidations = named(record(processor::invalidateCaches),
+                                                  "processor.CacheInvalidation");
+
+        assertEquals(1, invalidations.size());
+        assertEquals("all", invalidations.get(0).getString("caches"));
+        assertEquals(-1, invalidations.get(0).getInt("keys"));
+    }
+}
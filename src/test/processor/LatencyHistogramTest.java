@@ -0,0 +1,108 @@
+package test.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import processor.LatencyHistogram;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(0.99));
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0.0, histogram.getMeanNanos(), 0.0);
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(0.5));
+        assertEquals(10, histogram.getValueAtPercentile(1.0));
+        assertEquals(5.5, histogram.getMeanNanos(), 1e-9);
+    }
+
+    @Test
+    public void testPercentilesWithinBucketPrecision() {
+        //    1..100000 ns: every percentile is within 1/16 of the exact value
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i);
+        }
+
+        long p50 = histogram.getValueAtPercentile(0.50);
+        long p99 = histogram.getValueAtPercentile(0.99);
+        long p999 = histogram.getValueAtPercentile(0.999);
+        assertTrue(p50 >= 50_000 && p50 <= 50_000 * 17 / 16, "p50 was " + p50);
+        assertTrue(p99 >= 99_000 && p99 <= 99_000 * 17 / 16, "p99 was " + p99);
+        assertTrue(p999 >= 99_900 && p999 <= 100_000, "p999 was " + p999);
+        assertEquals(100_000, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void testOutlierShowsInTailAndMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 999; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(5_000_000_000L);
+
+        assertTrue(histogram.getValueAtPercentile(0.99) <= 1_000 * 17 / 16);
+        assertTrue(histogram.getValueAtPercentile(1.0) >= 5_000_000_000L * 15 / 16);
+        assertEquals(5_000_000_000L, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void testLargeAndNegativeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(0.5));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(1.0));
+    }
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(123);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void testInvalidPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(1.5));
+    }
+
+    @Test
+    public void testConcurrentRecordingKeepsEveryValue() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(10_000, histogram.getMaxNanos());
+    }
+}
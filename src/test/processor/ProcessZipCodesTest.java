@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import java.util.*;
 import processor.DataProcessor;
+import processor.ZipMetric;
 import common.ParkingViolation;
 import common.Property;
 import java.util.function.Function;
@@ -145,5 +146,98 @@ public class ProcessZipCodesTest {
         assertEquals("19103", keys.get(1));
         assertEquals("19104", keys.get(2));
     }
-}
 
+    @Test
+    public void testBatchMatchesPerZipQueries() {
+        // Batch results should equal the single-ZIP queries for every metric
+        List<ParkingViolation> violations = new ArrayList<>();
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        properties.add(new Property("19103", 150000.0, null));
+        properties.add(new Property("19104", 200000.0, 2000.0));
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19103", 10);
+        population.put("19104", 20);
+        
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+        String[] zipCodes = {"19104", "19103-1234", "99999", null, "191"};
+        
+        assertEquals(processor.processZipCodes(processor::getAverageMarketValue, zipCodes),
+                     processor.processZipCodes(ZipMetric.AVERAGE_MARKET_VALUE, zipCodes));
+        assertEquals(processor.processZipCodes(processor::getAverageTotalLivableArea, zipCodes),
+                     processor.processZipCodes(ZipMetric.AVERAGE_TOTAL_LIVABLE_AREA, zipCodes));
+        assertEquals(processor.processZipCodes(processor::getMarketValuePerCapita, zipCodes),
+                     processor.processZipCodes(ZipMetric.MARKET_VALUE_PER_CAPITA, zipCodes));
+    }
+
+    @Test
+    public void testBatchPreservesOrderAndNormalizes() {
+        // Batch results keep first-seen order of the normalized ZIP codes
+        List<ParkingViolation> violations = new ArrayList<>();
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        properties.add(new Property("19104", 200000.0, 2000.0));
+        Map<String, Integer> population = new HashMap<>();
+        
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+        Map<String, Integer> result = processor.processZipCodes(ZipMetric.AVERAGE_MARKET_VALUE,
+                                                                "19104-0001", "19103", "19104");
+        
+        assertEquals(Arrays.asList("19104", "19103"), new ArrayList<>(result.keySet()));
+        assertEquals(200000, result.get("19104"));
+        assertEquals(100000, result.get("19103"));
+    }
+
+    @Test
+    public void testBatchWithLargeZipSet() {
+        // Large batches are evaluated in parallel and should still be complete and ordered
+        List<ParkingViolation> violations = new ArrayList<>();
+        List<Property> properties = new ArrayList<>();
+        String[] zipCodes = new String[10000];
+        for (int i = 0; i < zipCodes.length; i++) {
+            zipCodes[i] = String.valueOf(10000 + i);
+            properties.add(new Property(zipCodes[i], 1000.0 + i, 100.0));
+        }
+        Map<String, Integer> population = new HashMap<>();
+        
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+        Map<String, Integer> result = processor.processZipCodes(ZipMetric.AVERAGE_MARKET_VALUE, zipCodes);
+        
+        assertEquals(Arrays.asList(zipCodes), new ArrayList<>(result.keySet()));
+        for (int i = 0; i < zipCodes.length; i++) {
+            assertEquals(1000 + i, result.get(zipCodes[i]));
+        }
+    }
+
+    @Test
+    public void testBatchWithNullMetric() {
+        // Null metric should throw exception
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(new ArrayList<>(), new ArrayList<>(), new HashMap<>());
+        
+        assertThrows(IllegalArgumentException.class, () -> {
+            processor.processZipCodes((ZipMetric) null, "19103");
+        });
+    }
+
+    @Test
+    public void testGetterCalculatorUsesCacheAndQueryStats() {
+        // the menu's path: each ZIP code goes through the cached getter, so repeats are hits
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        properties.add(new Property("19104", 200000.0, 2000.0));
+
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(new ArrayList<>(), properties, new HashMap<>());
+        processor.processZipCodes(processor::getAverageMarketValue, "19103", "19104");
+        processor.processZipCodes(processor::getAverageMarketValue, "19103-1234");
+
+        assertEquals(3, processor.getQueryStats().get("averageMarketValue").getCallCount());
+        assertEquals(2, processor.getQueryStats().get("processZipCodes").getCallCount());
+        assertEquals(1, processor.getCacheStats().get("averageMarketValue").getHitCount());
+        assertEquals(2, processor.getCacheStats().get("averageMarketValue").getMissCount());
+    }
+}
@@ -0,0 +1,79 @@
+package test.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import processor.PropertyStore;
+import processor.ZipCodeDictionary;
+import common.Property;
+
+public class PropertyStoreTest {
+
+    @Test
+    public void testConstructorWithNullList() {
+        // Null list should throw exception
+        assertThrows(IllegalArgumentException.class, () -> {
+            new PropertyStore(null, new ZipCodeDictionary());
+        });
+    }
+
+    @Test
+    public void testValidValues() {
+        // Valid values should be stored as-is
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+
+        PropertyStore store = new PropertyStore(properties, new ZipCodeDictionary());
+
+        assertEquals(1, store.size());
+        assertEquals("19103", store.getZipCode(0));
+        assertTrue(store.hasValidMarketValue(0));
+        assertEquals(100000.0, store.getMarketValue(0), 0.0001);
+        assertTrue(store.hasValidTotalLivableArea(0));
+        assertEquals(1000.0, store.getTotalLivableArea(0), 0.0001);
+    }
+
+    @Test
+    public void testInvalidValuesAreNaN() {
+        // Null, zero and negative values should be marked invalid
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", null, 0.0));
+        properties.add(new Property("19103", -5.0, null));
+
+        PropertyStore store = new PropertyStore(properties, new ZipCodeDictionary());
+
+        assertFalse(store.hasValidMarketValue(0));
+        assertFalse(store.hasValidTotalLivableArea(0));
+        assertFalse(store.hasValidMarketValue(1));
+        assertFalse(store.hasValidTotalLivableArea(1));
+        assertTrue(Double.isNaN(store.getMarketValue(0)));
+    }
+
+    @Test
+    public void testNullPropertyAndNullZipCode() {
+        // Null rows and rows without a ZIP code should have no ZIP id
+        List<Property> properties = new ArrayList<>();
+        properties.add(null);
+        properties.add(new Property(null, 100000.0, 1000.0));
+
+        PropertyStore store = new PropertyStore(properties, new ZipCodeDictionary());
+
+        assertEquals(-1, store.getZipId(0));
+        assertEquals(-1, store.getZipId(1));
+        assertNull(store.getZipCode(1));
+    }
+
+    @Test
+    public void testGetBuildsPropertyView() {
+        // get() should rebuild a Property with invalid values as null
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19104", 250000.0, -1.0));
+
+        PropertyStore store = new PropertyStore(properties, new ZipCodeDictionary());
+        Property property = store.get(0);
+
+        assertEquals("19104", property.getZipCode());
+        assertEquals(250000.0, property.getMarketValue(), 0.0001);
+        assertNull(property.getTotalLivableArea());
+    }
+}
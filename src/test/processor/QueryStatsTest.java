@@ -0,0 +1,102 @@
+package test.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import processor.CacheStats;
+import processor.DataProcessor;
+import processor.QueryStats;
+import processor.ZipMetric;
+import common.ParkingViolation;
+import common.Property;
+
+public class QueryStatsTest {
+
+    private DataProcessor createProcessor() {
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(new ParkingViolation("2024-01-01", 50.0, "DESC", "V1", "PA", "X1", "19103"));
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        properties.add(new Property("19104", 200000.0, 2000.0));
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19103", 10);
+        population.put("19104", 20);
+
+        DataProcessor.resetInstance();
+        return DataProcessor.getInstance(violations, properties, population);
+    }
+
+    @Test
+    public void testEveryQueryIsListedAndStartsAtZero() {
+        DataProcessor processor = createProcessor();
+        Map<String, QueryStats> stats = processor.getQueryStats();
+
+        assertEquals(Arrays.asList("totalPopulation", "finesPerCapita", "averageMarketValue",
+                                   "averageTotalLivableArea", "marketValuePerCapita", "processZipCodes"),
+                     new ArrayList<>(stats.keySet()));
+        for (QueryStats queryStats : stats.values()) {
+            assertEquals(0, queryStats.getCallCount());
+            assertEquals(0, queryStats.getRowsScanned());
+        }
+    }
+
+    @Test
+    public void testCallsAndRowsScanned() {
+        DataProcessor processor = createProcessor();
+        processor.getTotalPopulation();
+        processor.getAverageMarketValue("19103");
+        processor.getAverageMarketValue("19103");
+        processor.processZipCodes(ZipMetric.AVERAGE_MARKET_VALUE, "19103", "19104", "19104");
+
+        Map<String, QueryStats> stats = processor.getQueryStats();
+        assertEquals(1, stats.get("totalPopulation").getCallCount());
+        assertEquals(2, stats.get("totalPopulation").getRowsScanned());
+        //    the second call is a cache hit and reads no rows
+        assertEquals(2, stats.get("averageMarketValue").getCallCount());
+        assertEquals(1, stats.get("averageMarketValue").getRowsScanned());
+        //    repeated ZIP codes are answered once
+        assertEquals(1, stats.get("processZipCodes").getCallCount());
+        assertEquals(2, stats.get("processZipCodes").getRowsScanned());
+    }
+
+    @Test
+    public void testLatencyPercentilesAreOrdered() {
+        DataProcessor processor = createProcessor();
+        for (int i = 0; i < 1000; i++) {
+            processor.getMarketValuePerCapita(i % 2 == 0 ? "19103" : "19104");
+        }
+
+        QueryStats stats = processor.getQueryStats().get("marketValuePerCapita");
+        assertEquals(1000, stats.getCallCount());
+        assertTrue(stats.getP50Nanos() <= stats.getP99Nanos());
+        assertTrue(stats.getP99Nanos() <= stats.getP999Nanos());
+        assertTrue(stats.getP999Nanos() <= stats.getMaxNanos());
+        assertTrue(stats.getMaxNanos() > 0);
+    }
+
+    @Test
+    public void testFinesPerCapitaCacheCounters() {
+        DataProcessor processor = createProcessor();
+        processor.getFinesPerCapita();
+        processor.getFinesPerCapita();
+        processor.getFinesPerCapita();
+
+        CacheStats cacheStats = processor.getCacheStats().get("finesPerCapita");
+        assertEquals(1, cacheStats.getMissCount());
+        assertEquals(2, cacheStats.getHitCount());
+        assertEquals(3, processor.getQueryStats().get("finesPerCapita").getCallCount());
+    }
+
+    @Test
+    public void testResetQueryStats() {
+        DataProcessor processor = createProcessor();
+        processor.getTotalPopulation();
+        processor.getAverageTotalLivableArea("19104");
+        processor.resetQueryStats();
+
+        assertEquals(0, processor.getQueryStats().get("totalPopulation").getCallCount());
+        assertEquals(0, processor.getQueryStats().get("averageTotalLivableArea").getRowsScanned());
+        //    cache counters are kept
+        assertEquals(1, processor.getCacheStats().get("averageTotalLivableArea").getMissCount());
+    }
+}
@@ -0,0 +1,121 @@
+package test.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.*;
+import processor.DataProcessor;
+import common.ParkingViolation;
+import common.Property;
+
+public class ReplaceDataTest {
+
+    @Test
+    public void testReplacePropertiesKeepsViolations() {
+        // New properties should replace the old ones, while fines stay as they were
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(createViolation(100.0, "PA", "19103"));
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19103", 10);
+
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+        assertEquals(100000, processor.getAverageMarketValue("19103"));
+        List<ParkingViolation> batch = new ArrayList<>();
+        batch.add(createViolation(50.0, "PA", "19103"));
+        processor.addViolations(batch);
+
+        List<Property> reloaded = new ArrayList<>();
+        reloaded.add(new Property("19103", 300000.0, 3000.0));
+        reloaded.add(new Property("19104", 200000.0, 2000.0));
+        processor.replaceData(reloaded, null);
+
+        assertEquals(300000, processor.getAverageMarketValue("19103"));
+        assertEquals(3000, processor.getAverageTotalLivableArea("19103"));
+        assertEquals(30000, processor.getMarketValuePerCapita("19103"));
+        assertEquals(200000, processor.getAverageMarketValue("19104"));
+        assertEquals(15.0, processor.getFinesPerCapita().get("19103").doubleValue(), 0.0001);
+    }
+
+    @Test
+    public void testReplacePopulation() {
+        // New population should be used by every per-capita query
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(createViolation(100.0, "PA", "19103"));
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        Map<String, Integer> population = new HashMap<>();
+        population.put("19103", 10);
+
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(violations, properties, population);
+        assertEquals(10.0, processor.getFinesPerCapita().get("19103").doubleValue(), 0.0001);
+        assertEquals(10000, processor.getMarketValuePerCapita("19103"));
+
+        Map<String, Integer> reloaded = new HashMap<>();
+        reloaded.put("19103", 20);
+        reloaded.put("19104", 5);
+        processor.replaceData(null, reloaded);
+
+        assertEquals(25, processor.getTotalPopulation());
+        assertEquals(5.0, processor.getFinesPerCapita().get("19103").doubleValue(), 0.0001);
+        assertEquals(5000, processor.getMarketValuePerCapita("19103"));
+        assertEquals(100000, processor.getAverageMarketValue("19103"));
+    }
+
+    @Test
+    public void testReadersSeeOldOrNewDataDuringReplace() throws Exception {
+        // Queries running alongside reloads should see one data set or the other, never a mix
+        List<Property> first = new ArrayList<>();
+        first.add(new Property("19103", 100000.0, 1000.0));
+        Map<String, Integer> firstPopulation = new HashMap<>();
+        firstPopulation.put("19103", 10);
+        List<Property> second = new ArrayList<>();
+        second.add(new Property("19103", 400000.0, 1000.0));
+        Map<String, Integer> secondPopulation = new HashMap<>();
+        secondPopulation.put("19103", 40);
+
+        DataProcessor.resetInstance();
+        DataProcessor processor = DataProcessor.getInstance(new ArrayList<>(), first, firstPopulation);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    if (i % 2 == 0) {
+                        processor.replaceData(second, secondPopulation);
+                    } else {
+                        processor.replaceData(first, firstPopulation);
+                    }
+                }
+            });
+            List<Future<Boolean>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    while (!writer.isDone()) {
+                        // 10000 per person either way; a mix would give 2500 or 40000
+                        int perCapita = processor.processZipCodes(processor::getMarketValuePerCapita, "19103")
+                                                 .get("19103");
+                        if (perCapita != 10000) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<Boolean> reader : readers) {
+                assertTrue(reader.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Helper method to create a parking violation
+    private ParkingViolation createViolation(double fine, String state, String zipCode) {
+        return new ParkingViolation("2024-01-01T10:00:00Z", fine, "Description",
+                                   "VEH001", state, "VIOL001", zipCode);
+    }
+}
@@ -159,6 +159,87 @@ public class ViolationListTest {
         assertFalse(violationList.hasNext());
     }
 
+    @Test
+    public void testIteratorsAreIndependent() {
+        // Each iterator() call should get its own cursor, separate from next()
+        List<ParkingViolation> violations = new ArrayList<>();
+        ParkingViolation v1 = createViolation("19103");
+        ParkingViolation v2 = createViolation("19104");
+        violations.add(v1);
+        violations.add(v2);
+
+        ViolationList violationList = new ViolationList(violations);
+        assertEquals(v1, violationList.next());
+
+        Iterator<ParkingViolation> first = violationList.iterator();
+        Iterator<ParkingViolation> second = violationList.iterator();
+        assertEquals(v1, first.next());
+        assertEquals(v2, first.next());
+        assertEquals(v1, second.next());
+        assertFalse(first.hasNext());
+
+        // shared cursor is untouched
+        assertEquals(v2, violationList.next());
+    }
+
+    @Test
+    public void testSpliteratorSplitsInBalancedHalves() {
+        // trySplit() should hand off half of the remaining range
+        List<ParkingViolation> violations = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            violations.add(createViolation("1910" + i));
+        }
+
+        Spliterator<ParkingViolation> suffix = new ViolationList(violations).spliterator();
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertFalse(suffix.hasCharacteristics(Spliterator.IMMUTABLE));
+        Spliterator<ParkingViolation> prefix = suffix.trySplit();
+
+        assertNotNull(prefix);
+        assertEquals(5, prefix.estimateSize());
+        assertEquals(5, suffix.estimateSize());
+
+        List<ParkingViolation> seen = new ArrayList<>();
+        prefix.forEachRemaining(seen::add);
+        suffix.forEachRemaining(seen::add);
+        assertEquals(violations, seen);
+    }
+
+    @Test
+    public void testSpliteratorDoesNotSplitSingleElement() {
+        // A range of one element cannot be split further
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(createViolation("19103"));
+
+        assertNull(new ViolationList(violations).spliterator().trySplit());
+    }
+
+    @Test
+    public void testStreams() {
+        // stream() and parallelStream() should visit every violation in order
+        List<ParkingViolation> violations = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            violations.add(createViolation(String.valueOf(19000 + i)));
+        }
+
+        ViolationList violationList = new ViolationList(violations);
+        assertEquals(1000, violationList.stream().count());
+        assertEquals(100000.0, violationList.parallelStream().mapToDouble(ParkingViolation::getFine).sum(), 0.0001);
+        assertEquals(violations, violationList.parallelStream().collect(java.util.stream.Collectors.toList()));
+        assertTrue(violationList.hasNext());
+    }
+
+    @Test
+    public void testIteratorCannotRemove() {
+        // Traversal should not be able to change the source list
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(createViolation("19103"));
+
+        Iterator<ParkingViolation> iterator = new ViolationList(violations).iterator();
+        iterator.next();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+    }
+
     // Helper method to create a parking violation
     private ParkingViolation createViolation(String zipCode) {
         return new ParkingViolation("2024-01-01T10:00:00Z", 100.0, "Description", 
@@ -0,0 +1,84 @@
+package test.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import processor.ViolationStore;
+import processor.ZipCodeDictionary;
+import common.ParkingViolation;
+
+public class ViolationStoreTest {
+
+    @Test
+    public void testConstructorWithNullList() {
+        // Null list should throw exception
+        assertThrows(IllegalArgumentException.class, () -> {
+            new ViolationStore(null, new ZipCodeDictionary());
+        });
+    }
+
+    @Test
+    public void testColumnsMatchViolations() {
+        // Each row's columns should match the source violation
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(createViolation(25.0, "PA", "19103"));
+        violations.add(createViolation(40.0, "NJ", "19104"));
+
+        ViolationStore store = new ViolationStore(violations, new ZipCodeDictionary());
+
+        assertEquals(2, store.size());
+        assertEquals(25.0, store.getFine(0), 0.0001);
+        assertTrue(store.isFromPA(0));
+        assertEquals("19103", store.getZipCode(0));
+        assertFalse(store.isFromPA(1));
+        assertEquals("19104", store.getZipCode(1));
+        assertSame(violations.get(1), store.get(1));
+    }
+
+    @Test
+    public void testSameZipCodeSharesId() {
+        // Rows with the same ZIP code should share one dictionary id
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(createViolation(25.0, "PA", "19103"));
+        violations.add(createViolation(40.0, "PA", "19104"));
+        violations.add(createViolation(10.0, "PA", "19103"));
+
+        ViolationStore store = new ViolationStore(violations, new ZipCodeDictionary());
+
+        assertEquals(store.getZipId(0), store.getZipId(2));
+        assertNotEquals(store.getZipId(0), store.getZipId(1));
+        assertEquals(2, store.getZipCodes().size());
+    }
+
+    @Test
+    public void testRowsWithoutZipCode() {
+        // Rows without a valid ZIP code, and null rows, should get no ZIP id
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(createViolation(25.0, "PA", "19103"));
+        violations.add(createViolation(99.0, "PA", null));
+        violations.add(null);
+
+        ViolationStore store = new ViolationStore(violations, new ZipCodeDictionary());
+
+        assertEquals(1, store.getZipCodes().size());
+        assertEquals(-1, store.getZipId(1));
+        assertNull(store.getZipCode(1));
+        assertEquals(-1, store.getZipId(2));
+        assertFalse(store.isFromPA(2));
+    }
+
+    @Test
+    public void testGetOutOfRange() {
+        // get() should reject rows outside the store
+        ViolationStore store = new ViolationStore(new ArrayList<>(), new ZipCodeDictionary());
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            store.get(0);
+        });
+    }
+
+    // Helper method to create a parking violation
+    private ParkingViolation createViolation(double fine, String state, String zipCode) {
+        return new ParkingViolation("2024-01-01T10:00:00Z", fine, "Description",
+                                   "VEH001", state, "VIOL001", zipCode);
+    }
+}
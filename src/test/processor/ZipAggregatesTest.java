@@ -0,0 +1,164 @@
+package test.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import processor.PropertyStore;
+import processor.ViolationStore;
+import processor.ZipAggregates;
+import processor.ZipCodeDictionary;
+import common.ParkingViolation;
+import common.Property;
+
+public class ZipAggregatesTest {
+
+    @Test
+    public void testBuildSumsAndCounts() {
+        // Table should hold sums and counts of valid values per ZIP code
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        properties.add(new Property("19103", 300000.0, null));
+        properties.add(new Property("19104", -1.0, 500.0));
+        List<ParkingViolation> violations = new ArrayList<>();
+        violations.add(createViolation(25.0, "PA", "19103"));
+        violations.add(createViolation(40.0, "NJ", "19103"));
+        violations.add(createViolation(10.0, "PA", "19104"));
+
+        ZipCodeDictionary zipCodes = new ZipCodeDictionary();
+        ViolationStore violationStore = new ViolationStore(violations, zipCodes);
+        PropertyStore propertyStore = new PropertyStore(properties, zipCodes);
+        ZipAggregates aggregates = ZipAggregates.build(propertyStore, violationStore, false);
+
+        int zip19103 = zipCodes.find("19103");
+        int zip19104 = zipCodes.find("19104");
+        assertEquals(400000.0, aggregates.getMarketValueSum(zip19103), 0.0001);
+        assertEquals(2, aggregates.getMarketValueCount(zip19103));
+        assertEquals(1000.0, aggregates.getLivableAreaSum(zip19103), 0.0001);
+        assertEquals(1, aggregates.getLivableAreaCount(zip19103));
+        assertEquals(25.0, aggregates.getPAFineTotal(zip19103), 0.0001);
+        assertEquals(0, aggregates.getMarketValueCount(zip19104));
+        assertEquals(1, aggregates.getLivableAreaCount(zip19104));
+        assertEquals(10.0, aggregates.getPAFineTotal(zip19104), 0.0001);
+        assertTrue(aggregates.getBuildNanos() >= 0);
+    }
+
+    @Test
+    public void testBuildPropertyTotalsLeavesFinesOut() {
+        // A properties-only table should match a full build with no violations
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < 70000; i++) {
+            properties.add(new Property(String.valueOf(19100 + i % 7), 1000.0 + i, i % 5 == 0 ? null : 10.0 + i));
+        }
+        ZipCodeDictionary zipCodes = new ZipCodeDictionary();
+        PropertyStore propertyStore = new PropertyStore(properties, zipCodes);
+        ZipAggregates expected = ZipAggregates.build(propertyStore,
+                new ViolationStore(new ArrayList<ParkingViolation>(), zipCodes), false);
+        ZipAggregates aggregates = ZipAggregates.buildPropertyTotals(propertyStore, true);
+
+        assertEquals(expected.zipCount(), aggregates.zipCount());
+        for (int zipId = 0; zipId < zipCodes.size(); zipId++) {
+            assertEquals(expected.getMarketValueSum(zipId), aggregates.getMarketValueSum(zipId), 0.0);
+            assertEquals(expected.getMarketValueCount(zipId), aggregates.getMarketValueCount(zipId));
+            assertEquals(expected.getLivableAreaSum(zipId), aggregates.getLivableAreaSum(zipId), 0.0);
+            assertEquals(expected.getLivableAreaCount(zipId), aggregates.getLivableAreaCount(zipId));
+            assertEquals(0.0, aggregates.getPAFineTotal(zipId), 0.0);
+        }
+        assertThrows(IllegalArgumentException.class, () -> {
+            ZipAggregates.build(propertyStore, null, false);
+        });
+    }
+
+    @Test
+    public void testUnknownZipIdReturnsZero() {
+        // ZIP ids outside the table should read as empty
+        ZipAggregates aggregates = new ZipAggregates(1);
+        assertEquals(0, aggregates.getMarketValueCount(-1));
+        assertEquals(0.0, aggregates.getPAFineTotal(5), 0.0001);
+    }
+
+    @Test
+    public void testMergeAddsPartialTables() {
+        // Merging tables built over separate row ranges should give the full totals
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+        properties.add(new Property("19103", 300000.0, 3000.0));
+
+        ZipCodeDictionary zipCodes = new ZipCodeDictionary();
+        PropertyStore propertyStore = new PropertyStore(properties, zipCodes);
+        ZipAggregates first = new ZipAggregates(zipCodes.size());
+        first.addProperties(propertyStore, 0, 1);
+        ZipAggregates second = new ZipAggregates(zipCodes.size());
+        second.addProperties(propertyStore, 1, 2);
+        first.merge(second);
+
+        assertEquals(400000.0, first.getMarketValueSum(0), 0.0001);
+        assertEquals(2, first.getLivableAreaCount(0));
+        assertThrows(IllegalArgumentException.class, () -> {
+            first.merge(new ZipAggregates(2));
+        });
+    }
+
+    @Test
+    public void testCopyIsIndependentAndGrows() {
+        // A copy should keep the totals, cover new ZIP ids and leave the original unchanged
+        List<Property> properties = new ArrayList<>();
+        properties.add(new Property("19103", 100000.0, 1000.0));
+
+        ZipCodeDictionary zipCodes = new ZipCodeDictionary();
+        PropertyStore propertyStore = new PropertyStore(properties, zipCodes);
+        ZipAggregates original = new ZipAggregates(zipCodes.size());
+        original.addProperties(propertyStore, 0, 1);
+
+        List<Property> batch = new ArrayList<>();
+        batch.add(new Property("19104", 200000.0, 2000.0));
+        batch.add(new Property("19103", 50000.0, null));
+        PropertyStore batchStore = new PropertyStore(batch, zipCodes);
+        ZipAggregates copy = original.copy(zipCodes.size());
+        copy.addProperties(batchStore, 0, batchStore.size());
+
+        assertEquals(2, copy.zipCount());
+        assertEquals(150000.0, copy.getMarketValueSum(0), 0.0001);
+        assertEquals(1, copy.getLivableAreaCount(0));
+        assertEquals(200000.0, copy.getMarketValueSum(1), 0.0001);
+        assertEquals(1, original.zipCount());
+        assertEquals(100000.0, original.getMarketValueSum(0), 0.0001);
+    }
+
+    @Test
+    public void testParallelBuildMatchesSerialBuild() {
+        // Parallel and serial builds should produce bit-identical totals
+        Random random = new Random(42);
+        List<ParkingViolation> violations = new ArrayList<>();
+        for (int i = 0; i < 300000; i++) {
+            String zipCode = "191" + (10 + random.nextInt(40));
+            violations.add(createViolation(random.nextDouble() * 100, random.nextInt(5) == 0 ? "NJ" : "PA", zipCode));
+        }
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < 200000; i++) {
+            String zipCode = "191" + (10 + random.nextInt(40));
+            properties.add(new Property(zipCode, random.nextDouble() * 1e6, random.nextDouble() * 3000));
+        }
+
+        ZipCodeDictionary zipCodes = new ZipCodeDictionary();
+        ViolationStore violationStore = new ViolationStore(violations, zipCodes);
+        PropertyStore propertyStore = new PropertyStore(properties, zipCodes);
+        ZipAggregates serial = ZipAggregates.build(propertyStore, violationStore, false);
+        ZipAggregates parallel = ZipAggregates.build(propertyStore, violationStore, true);
+
+        for (int zipId = 0; zipId < zipCodes.size(); zipId++) {
+            assertEquals(Double.doubleToLongBits(serial.getPAFineTotal(zipId)),
+                         Double.doubleToLongBits(parallel.getPAFineTotal(zipId)));
+            assertEquals(Double.doubleToLongBits(serial.getMarketValueSum(zipId)),
+                         Double.doubleToLongBits(parallel.getMarketValueSum(zipId)));
+            assertEquals(Double.doubleToLongBits(serial.getLivableAreaSum(zipId)),
+                         Double.doubleToLongBits(parallel.getLivableAreaSum(zipId)));
+            assertEquals(serial.getMarketValueCount(zipId), parallel.getMarketValueCount(zipId));
+        }
+    }
+
+    // Helper method to create a parking violation
+    private ParkingViolation createViolation(double fine, String state, String zipCode) {
+        return new ParkingViolation("2024-01-01T10:00:00Z", fine, "Description",
+                                   "VEH001", state, "VIOL001", zipCode);
+    }
+}
@@ -0,0 +1,174 @@
+package test.tools;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import datamanagement.LoadReport;
+import datamanagement.LoadResult;
+import datamanagement.ParkingViolationReader;
+import datamanagement.PopulationReader;
+import datamanagement.PropertyReader;
+import datamanagement.RejectReason;
+import common.ParkingViolation;
+import common.Property;
+import tools.DataGenerator;
+
+public class DataGeneratorTest {
+
+    private static final int ROWS = 20000;
+    // high enough that every kind of dirty row shows up a few hundred times
+    private static final double DIRTY_RATE = 0.2;
+
+    // A temporary file path, deleted when the JVM exits
+    private String tempFile(String suffix) throws IOException {
+        File file = File.createTempFile("generated", suffix);
+        file.deleteOnExit();
+        return file.getPath();
+    }
+
+    private byte[] bytes(String file) throws IOException {
+        return Files.readAllBytes(new File(file).toPath());
+    }
+
+    private Map<RejectReason, Long> rejects(LoadReport report) {
+        Map<RejectReason, Long> rejects = new EnumMap<>(RejectReason.class);
+        for (RejectReason reason : RejectReason.values()) {
+            if (report.getRejected(reason) > 0) {
+                rejects.put(reason, report.getRejected(reason));
+            }
+        }
+        return rejects;
+    }
+
+    // Lines of the file that are empty
+    private long blankLines(String file) throws IOException {
+        long blank = 0;
+        for (String line : Files.readAllLines(new File(file).toPath(), StandardCharsets.UTF_8)) {
+            if (line.isEmpty()) {
+                blank++;
+            }
+        }
+        return blank;
+    }
+
+    // Checks that count is within 25% of expected; the generator's dirty rows are random
+    private void assertAbout(double expected, long count, String what) {
+        assertTrue(Math.abs(count - expected) < 0.25 * expected,
+                   what + ": expected about " + expected + ", got " + count);
+    }
+
+    @Test
+    public void testSameSeedGivesSameFiles() throws IOException {
+        String[] first = {tempFile(".csv"), tempFile(".json"), tempFile(".csv")};
+        String[] second = {tempFile(".csv"), tempFile(".json"), tempFile(".csv")};
+        for (String[] files : new String[][] {first, second}) {
+            DataGenerator generator = new DataGenerator(7L, DIRTY_RATE);
+            generator.writeViolationsCSV(ROWS, files[0]);
+            generator.writeViolationsJSON(ROWS, files[1]);
+            generator.writePropertiesCSV(ROWS, files[2]);
+        }
+        for (int i = 0; i < first.length; i++) {
+            assertTrue(Arrays.equals(bytes(first[i]), bytes(second[i])), first[i]);
+        }
+
+        String otherSeed = tempFile(".csv");
+        new DataGenerator(8L, DIRTY_RATE).writeViolationsCSV(ROWS, otherSeed);
+        assertFalse(Arrays.equals(bytes(first[0]), bytes(otherSeed)));
+    }
+
+    @Test
+    public void testGeneratedFilesLoadWithExpectedRejects() throws IOException {
+        DataGenerator generator = new DataGenerator(DataGenerator.DEFAULT_SEED, DIRTY_RATE);
+        String csv = tempFile(".csv");
+        String json = tempFile(".json");
+        String properties = tempFile(".csv");
+        String population = tempFile(".txt");
+        generator.writeViolationsCSV(ROWS, csv);
+        generator.writeViolationsJSON(ROWS, json);
+        generator.writePropertiesCSV(ROWS, properties);
+        generator.writePopulation(population);
+
+        // each dirty violation is one of 7 kinds, chosen evenly: an unparsable fine, a row
+        // short of its ZIP field and a blank line are skipped, the other 4 are kept
+        double perKind = ROWS * DIRTY_RATE / 7;
+        long blank = blankLines(csv);
+        assertAbout(perKind, blank, "blank lines");
+
+        LoadReport csvReport = ParkingViolationReader.readFromCSV(csv, null).getReport();
+        assertEquals(ROWS - blank, csvReport.getRowsRead());
+        assertEquals(EnumSet.of(RejectReason.WRONG_FIELD_COUNT, RejectReason.INVALID_FINE),
+                     rejects(csvReport).keySet());
+        assertAbout(perKind, csvReport.getRejected(RejectReason.WRONG_FIELD_COUNT), "short rows");
+        assertAbout(perKind, csvReport.getRejected(RejectReason.INVALID_FINE), "invalid fines");
+
+        // the other CSV readers skip the same rows for the same reasons
+        assertEquals(rejects(csvReport), rejects(ParkingViolationReader.readFromCSVMapped(csv, null).getReport()));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            LoadReport parallelReport =
+                ParkingViolationReader.readFromCSVParallel(csv, true, pool, null, 64 * 1024).getReport();
+            assertEquals(rejects(csvReport), rejects(parallelReport));
+            assertEquals(csvReport.getRowsAccepted(), parallelReport.getRowsAccepted());
+        } finally {
+            pool.shutdown();
+        }
+
+        // JSON has no blank rows, and keeps the rows without a ZIP code
+        LoadResult<List<ParkingViolation>> jsonResult = ParkingViolationReader.readFromJSON(json, null);
+        LoadReport jsonReport = jsonResult.getReport();
+        assertEquals(ROWS - blank, jsonReport.getRowsRead());
+        assertEquals(Collections.singletonMap(RejectReason.INVALID_FINE,
+                                              csvReport.getRejected(RejectReason.INVALID_FINE)),
+                     rejects(jsonReport));
+        assertEquals(csvReport.getRowsAccepted() + csvReport.getRejected(RejectReason.WRONG_FIELD_COUNT),
+                     jsonReport.getRowsAccepted());
+        assertEquals(rejects(jsonReport),
+                     rejects(ParkingViolationReader.readFromJSONStreaming(json, v -> { }, null)));
+
+        // each dirty property is one of 5 kinds; only a missing ZIP code skips the row
+        LoadResult<List<Property>> propertyResult = PropertyReader.readFromCSV(properties, null);
+        assertEquals(ROWS, propertyResult.getReport().getRowsRead());
+        assertEquals(EnumSet.of(RejectReason.MISSING_ZIP_CODE), rejects(propertyResult.getReport()).keySet());
+        assertAbout(ROWS * DIRTY_RATE / 5, propertyResult.getReport().getRowsRejected(), "missing ZIP codes");
+
+        LoadReport populationReport = PopulationReader.readFromFile(population, null).getReport();
+        assertEquals(46, populationReport.getRowsAccepted());
+        assertEquals(0, populationReport.getRowsRejected());
+    }
+
+    @Test
+    public void testCleanFilesHaveNoRejects() throws IOException {
+        DataGenerator generator = new DataGenerator(DataGenerator.DEFAULT_SEED, 0);
+        String csv = tempFile(".csv");
+        String json = tempFile(".json");
+        String properties = tempFile(".csv");
+        generator.writeViolationsCSV(ROWS, csv);
+        generator.writeViolationsJSON(ROWS, json);
+        generator.writePropertiesCSV(ROWS, properties);
+
+        LoadReport csvReport = ParkingViolationReader.readFromCSVMapped(csv, null).getReport();
+        assertEquals(ROWS, csvReport.getRowsAccepted());
+        assertEquals(0, csvReport.getRowsRejected());
+        LoadReport jsonReport = ParkingViolationReader.readFromJSON(json, null).getReport();
+        assertEquals(ROWS, jsonReport.getRowsAccepted());
+        assertEquals(0, jsonReport.getRowsRejected());
+        LoadReport propertyReport = PropertyReader.readFromCSV(properties, null).getReport();
+        assertEquals(ROWS, propertyReport.getRowsAccepted());
+        assertEquals(0, propertyReport.getRowsRejected());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DataGenerator(1L, 1.5);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            new DataGenerator(1L, 0.1).writeViolationsCSV(-1, tempFile(".csv"));
+        });
+    }
+}
@@ -0,0 +1,465 @@
+package tools;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Writes synthetic, Philadelphia-shaped input files for scale testing: parking violations
+ * (CSV and/or JSON), an OPA-style properties CSV and a population file.
+ * Output is deterministic: the same seed, row counts and dirty rate give the same files.
+ * Rows are generated and written one at a time, so any row count fits in memory.
+ */
+public class DataGenerator {
+
+    public static final long DEFAULT_SEED = 42L;
+
+    // Fraction of rows that are malformed or unusual, like those in the real files
+    public static final double DEFAULT_DIRTY_RATE = 0.02;
+
+    // Philadelphia ZIP codes and their approximate 2010 census populations
+    private static final String[] ZIP_CODES = {
+        "19102", "19103", "19104", "19106", "19107", "19111", "19114", "19115", "19116", "19118",
+        "19119", "19120", "19121", "19122", "19123", "19124", "19125", "19126", "19127", "19128",
+        "19129", "19130", "19131", "19132", "19133", "19134", "19135", "19136", "19137", "19138",
+        "19139", "19140", "19141", "19142", "19143", "19144", "19145", "19146", "19147", "19148",
+        "19149", "19150", "19151", "19152", "19153", "19154"
+    };
+    private static final int[] POPULATIONS = {
+        4705, 21908, 51808, 11740, 14875, 63090, 30907, 33207, 33112, 9808,
+        27035, 68104, 36572, 21653, 13415, 66691, 23664, 13570, 5913, 37905,
+        11202, 24870, 43661, 36268, 26063, 60675, 30650, 40350, 8316, 33740,
+        42752, 54133, 31544, 30179, 64849, 43329, 46922, 35113, 35013, 49295,
+        55116, 23666, 30560, 33987, 11608, 34008
+    };
+
+    // Center City and University City get many more tickets per resident
+    private static final String[] BUSY_ZIP_CODES = {"19102", "19103", "19104", "19106", "19107"};
+    private static final int BUSY_WEIGHT = 8;
+
+    private static final String[] DESCRIPTIONS = {
+        "METER EXPIRED CC", "METER EXPIRED", "OVER TIME LIMIT", "EXPIRED INSPECTION", "STOP PROHIBITED CC",
+        "PARKING PROHBITED", "BUS ONLY ZONE", "DOUBLE PARKED", "HP RESERVED SPACE", "FIRE HYDRANT",
+        "NO STOP/STAND AM/PM", "IMPROPER ON 2WAY HWY", "BLOCKING DRIVEWAY", "PARKED ON GRASS"
+    };
+    // Fine of each description, in dollars
+    private static final int[] FINES = {36, 26, 26, 41, 51, 41, 51, 51, 301, 76, 76, 26, 51, 51};
+
+    private static final String[] STATES = {"PA", "NJ", "DE", "NY", "MD", "FL", "VA", "OH", "CA", "TX"};
+    // cumulative weights: about 85% of the vehicles are registered in PA
+    private static final long[] STATE_WEIGHTS = {850, 930, 960, 980, 986, 990, 993, 996, 998, 1000};
+
+    private static final String[] STREETS = {
+        "MARKET ST", "CHESTNUT ST", "WALNUT ST", "BROAD ST", "SPRUCE ST", "PINE ST", "GIRARD AVE",
+        "FRANKFORD AVE", "GERMANTOWN AVE", "PASSYUNK AVE", "CASTOR AVE", "BUSTLETON AVE", "RIDGE AVE"
+    };
+    private static final String[] OWNERS = {"SMITH", "JOHNSON", "WILLIAMS", "BROWN", "JONES", "NGUYEN", "GARCIA"};
+    private static final String[] FIRST_NAMES = {"JOHN", "MARY", "JAMES", "LINDA", "ROBERT", "ANH", "MARIA"};
+
+    // Property CSV header: the three columns PropertyReader needs, among OPA-style filler columns
+    private static final String PROPERTY_HEADER = "objectid,assessment_date,basements,building_code,"
+            + "category_code,category_code_description,census_tract,central_air,depth,exterior_condition,"
+            + "fireplaces,frontage,garage_spaces,geographic_ward,homestead_exemption,interior_condition,"
+            + "location,market_value,market_value_date,number_of_bathrooms,number_of_bedrooms,"
+            + "number_stories,owner_1,parcel_number,sale_date,sale_price,taxable_building,taxable_land,"
+            + "total_area,total_livable_area,year_built,zip_code,zoning,lat,lng";
+
+    // The violations span one year from this time
+    private static final long FIRST_TIMESTAMP = LocalDateTime.of(2013, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long YEAR_SECONDS = 365L * 24 * 60 * 60;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final long seed;
+    private final double dirtyRate;
+    // cumulative weights for picking a ZIP code, for violations and for properties
+    private final long[] violationWeights;
+    private final long[] propertyWeights;
+
+    public DataGenerator(long seed, double dirtyRate) {
+        if (dirtyRate < 0 || dirtyRate > 1) {
+            throw new IllegalArgumentException("Dirty rate must be between 0 and 1");
+        }
+        this.seed = seed;
+        this.dirtyRate = dirtyRate;
+        this.violationWeights = new long[ZIP_CODES.length];
+        this.propertyWeights = new long[ZIP_CODES.length];
+        long violationTotal = 0;
+        long propertyTotal = 0;
+        for (int i = 0; i < ZIP_CODES.length; i++) {
+            boolean busy = false;
+            for (String zipCode : BUSY_ZIP_CODES) {
+                busy |= zipCode.equals(ZIP_CODES[i]);
+            }
+            violationTotal += (long) POPULATIONS[i] * (busy ? BUSY_WEIGHT : 1);
+            propertyTotal += POPULATIONS[i];
+            violationWeights[i] = violationTotal;
+            propertyWeights[i] = propertyTotal;
+        }
+    }
+
+    // Writes rows violations as the headerless 7-field CSV read by ParkingViolationReader.readFromCSV
+    public void writeViolationsCSV(long rows, String filename) throws IOException {
+        checkRows(rows);
+        SplittableRandom random = new SplittableRandom(seed);
+        ViolationRow row = new ViolationRow();
+        StringBuilder line = new StringBuilder(160);
+        try (Writer out = openWriter(filename)) {
+            for (long i = 0; i < rows; i++) {
+                nextViolation(random, i, rows, row);
+                line.setLength(0);
+                if (row.blank) {
+                    line.append('\n');
+                } else {
+                    line.append(row.timestamp).append(',').append(row.fine).append(',')
+                        .append(csvField(row.description)).append(',').append(row.vehicleId).append(',')
+                        .append(row.state).append(',').append(row.violationId);
+                    if (!row.truncated) {
+                        line.append(',').append(row.zipCode);
+                    }
+                    line.append('\n');
+                }
+                out.append(line);
+            }
+        }
+    }
+
+    // Writes the rows of writeViolationsCSV as the JSON array read by ParkingViolationReader.readFromJSON.
+    // Blank CSV lines have no JSON counterpart and are left out; a row short of its ZIP field
+    // becomes an object without zip_code, which the JSON readers keep.
+    public void writeViolationsJSON(long rows, String filename) throws IOException {
+        checkRows(rows);
+        SplittableRandom random = new SplittableRandom(seed);
+        ViolationRow row = new ViolationRow();
+        StringBuilder line = new StringBuilder(220);
+        try (Writer out = openWriter(filename)) {
+            out.write('[');
+            boolean first = true;
+            for (long i = 0; i < rows; i++) {
+                nextViolation(random, i, rows, row);
+                if (row.blank) {
+                    continue;
+                }
+                line.setLength(0);
+                line.append(first ? "\n" : ",\n");
+                first = false;
+                line.append("{\"timestamp\":\"").append(row.timestamp).append("\",\"fine\":");
+                if (isNumber(row.fine)) {
+                    line.append(row.fine);
+                } else {
+                    line.append('"').append(row.fine).append('"');
+                }
+                line.append(",\"description\":\"").append(row.description)
+                    .append("\",\"vehicle_id\":\"").append(row.vehicleId)
+                    .append("\",\"state\":\"").append(row.state)
+                    .append("\",\"violation_id\":").append(row.violationId);
+                if (!row.truncated) {
+                    // 5-digit ZIP codes are numbers, as in the published JSON file
+                    line.append(",\"zip_code\":");
+                    if (row.zipCode.length() == 5) {
+                        line.append(row.zipCode);
+                    } else {
+                        line.append('"').append(row.zipCode).append('"');
+                    }
+                }
+                line.append('}');
+                out.append(line);
+            }
+            out.write(first ? "]\n" : "\n]\n");
+        }
+    }
+
+    // Writes rows properties as an OPA-style CSV with a header row
+    public void writePropertiesCSV(long rows, String filename) throws IOException {
+        checkRows(rows);
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        StringBuilder line = new StringBuilder(400);
+        try (Writer out = openWriter(filename)) {
+            out.write(PROPERTY_HEADER);
+            out.write('\n');
+            for (long i = 0; i < rows; i++) {
+                line.setLength(0);
+                appendProperty(random, i, line);
+                out.append(line);
+            }
+        }
+    }
+
+    // Writes the population file: one "ZIP population" pair per line
+    public void writePopulation(String filename) throws IOException {
+        try (Writer out = openWriter(filename)) {
+            for (int i = 0; i < ZIP_CODES.length; i++) {
+                out.write(ZIP_CODES[i] + " " + POPULATIONS[i] + "\n");
+            }
+        }
+    }
+
+    // One generated violation line; reused for every row
+    private static final class ViolationRow {
+        String timestamp;
+        String fine;
+        String description;
+        String vehicleId;
+        String state;
+        String violationId;
+        String zipCode;
+        boolean truncated; // missing the ZIP field, so it has 6 fields
+        boolean blank;
+    }
+
+    // Helper: Generates violation number index of rows; timestamps rise through the year
+    private void nextViolation(SplittableRandom random, long index, long rows, ViolationRow row) {
+        int kind = random.nextInt(DESCRIPTIONS.length);
+        long second = FIRST_TIMESTAMP + (long) ((double) index / rows * YEAR_SECONDS) + random.nextInt(60);
+        row.timestamp = TIMESTAMP_FORMAT.format(LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC));
+        row.fine = Integer.toString(FINES[kind]);
+        row.description = DESCRIPTIONS[kind];
+        row.vehicleId = Integer.toString(1000000 + random.nextInt(9000000));
+        row.state = STATES[pick(random, STATE_WEIGHTS)];
+        row.violationId = Long.toString(2905938L + index);
+        row.zipCode = ZIP_CODES[pick(random, violationWeights)];
+        row.truncated = false;
+        row.blank = false;
+
+        if (random.nextDouble() < dirtyRate) {
+            switch (random.nextInt(7)) {
+                case 0: // unparsable fine: the row is skipped by the readers
+                    row.fine = random.nextBoolean() ? "N/A" : "$" + row.fine;
+                    break;
+                case 1: // no ZIP code
+                    row.zipCode = "";
+                    break;
+                case 2: // ZIP+4
+                    row.zipCode = row.zipCode + "-" + (1000 + random.nextInt(9000));
+                    break;
+                case 3: // comma inside a quoted description
+                    row.description = row.description + ", CC";
+                    break;
+                case 4: // fine with cents
+                    row.fine = row.fine + "." + (10 + random.nextInt(90));
+                    break;
+                case 5: // a field short: skipped by the readers
+                    row.truncated = true;
+                    break;
+                default: // empty line
+                    row.blank = true;
+                    break;
+            }
+        }
+    }
+
+    // Helper: Appends one property line, with missing or odd values in dirty rows
+    private void appendProperty(SplittableRandom random, long index, StringBuilder line) {
+        int zip = pick(random, propertyWeights);
+        boolean busy = false;
+        for (String zipCode : BUSY_ZIP_CODES) {
+            busy |= zipCode.equals(ZIP_CODES[zip]);
+        }
+        // log-normal market value around $160K, higher downtown
+        long marketValue = Math.round(Math.exp(12 + 0.6 * gaussian(random)) * (busy ? 2.5 : 1));
+        long livableArea = Math.max(300, Math.round(1400 + 500 * gaussian(random)));
+        String marketValueField = Long.toString(marketValue);
+        String livableAreaField = Long.toString(livableArea);
+        // OPA writes most ZIP codes with 9 digits
+        String zipCodeField = random.nextInt(10) < 7
+                ? ZIP_CODES[zip] + (1000 + random.nextInt(9000)) : ZIP_CODES[zip];
+
+        if (random.nextDouble() < dirtyRate) {
+            switch (random.nextInt(5)) {
+                case 0: // no market value
+                    marketValueField = "";
+                    break;
+                case 1: // unparsable market value
+                    marketValueField = "N/A";
+                    break;
+                case 2: // no livable area
+                    livableAreaField = "";
+                    break;
+                case 3: // no ZIP code
+                    zipCodeField = "";
+                    break;
+                default: // market value formatted with a thousands separator, so quoted
+                    marketValueField = "\"" + String.format(Locale.US, "%,d", marketValue) + "\"";
+                    break;
+            }
+        }
+
+        String street = STREETS[random.nextInt(STREETS.length)];
+        int houseNumber = 1 + random.nextInt(9999);
+        line.append(index + 1).append(",2013-06-01,").append(random.nextBoolean() ? "D" : "")
+            .append(",R30,1,SINGLE FAMILY,").append(random.nextInt(400)).append(',')
+            .append(random.nextBoolean() ? "Y" : "N").append(',').append(50 + random.nextInt(100))
+            .append(',').append(1 + random.nextInt(7)).append(',').append(random.nextInt(3))
+            .append(',').append(14 + random.nextInt(30)).append(',').append(random.nextInt(3))
+            .append(',').append(1 + random.nextInt(66)).append(',').append(random.nextInt(4) == 0 ? 30000 : 0)
+            .append(',').append(1 + random.nextInt(7)).append(",\"").append(houseNumber).append(' ')
+            .append(street).append(", UNIT ").append(1 + random.nextInt(4)).append("\",")
+            .append(marketValueField).append(",2013-06-01,").append(1 + random.nextInt(3)).append(',')
+            .append(1 + random.nextInt(5)).append(',').append(1 + random.nextInt(3)).append(",\"")
+            .append(OWNERS[random.nextInt(OWNERS.length)]).append(", ")
+            .append(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]).append("\",")
+            .append(100000000 + random.nextInt(900000000)).append(",2001-0")
+            .append(1 + random.nextInt(9)).append("-15,").append(random.nextInt(500000)).append(',')
+            .append(marketValue * 4 / 5).append(',').append(marketValue / 5).append(',')
+            .append(livableArea + random.nextInt(1000)).append(',').append(livableAreaField).append(',')
+            .append(1880 + random.nextInt(134)).append(',').append(zipCodeField).append(",RSA5,");
+        appendMicrodegrees(line, 39_900_000 + random.nextInt(200_000));
+        line.append(',');
+        appendMicrodegrees(line, -75_000_000 - random.nextInt(300_000));
+        line.append('\n');
+    }
+
+    // Helper: Picks an index with probability proportional to its weight (weights are cumulative)
+    private static int pick(SplittableRandom random, long[] cumulativeWeights) {
+        long target = random.nextLong(cumulativeWeights[cumulativeWeights.length - 1]);
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] > target) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    // Helper: Appends a coordinate given in millionths of a degree, with 6 decimals
+    private static void appendMicrodegrees(StringBuilder line, int microdegrees) {
+        if (microdegrees < 0) {
+            line.append('-');
+            microdegrees = -microdegrees;
+        }
+        String fraction = Integer.toString(1_000_000 + microdegrees % 1_000_000);
+        line.append(microdegrees / 1_000_000).append('.').append(fraction, 1, 7);
+    }
+
+    // Helper: Standard normal value (Box-Muller)
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static String csvField(String value) {
+        return value.indexOf(',') < 0 ? value : "\"" + value + "\"";
+    }
+
+    // Helper: True for digits with at most one decimal point; other fines are written as JSON strings
+    private static boolean isNumber(String value) {
+        boolean point = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.' && !point && i > 0) {
+                point = true;
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return !value.isEmpty() && value.charAt(value.length() - 1) != '.';
+    }
+
+    private static void checkRows(long rows) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Row count cannot be negative");
+        }
+    }
+
+    private static Writer openWriter(String filename) throws IOException {
+        if (filename == null || filename.trim().isEmpty()) {
+            throw new IllegalArgumentException("Filename cannot be null or empty");
+        }
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8),
+                                  BUFFER_SIZE);
+    }
+
+    // Usage: java tools.DataGenerator <output_dir> <violation_rows> [--properties <rows>]
+    //        [--format csv|json|both] [--seed <seed>] [--dirty <rate>]
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            exitWithUsage("Error: Incorrect number of arguments.");
+        }
+        File directory = new File(args[0]);
+        long violationRows = parseRows(args[1]);
+        long propertyRows = -1;
+        String format = "csv";
+        long seed = DEFAULT_SEED;
+        double dirtyRate = DEFAULT_DIRTY_RATE;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--properties") && i + 1 < args.length) {
+                propertyRows = parseRows(args[++i]);
+            } else if (args[i].equals("--format") && i + 1 < args.length) {
+                format = args[++i];
+            } else if (args[i].equals("--seed") && i + 1 < args.length) {
+                try {
+                    seed = Long.parseLong(args[++i]);
+                } catch (NumberFormatException e) {
+                    exitWithUsage("Error: Invalid seed: " + args[i]);
+                }
+            } else if (args[i].equals("--dirty") && i + 1 < args.length) {
+                try {
+                    dirtyRate = Double.parseDouble(args[++i]);
+                } catch (NumberFormatException e) {
+                    exitWithUsage("Error: Invalid dirty rate: " + args[i]);
+                }
+            } else {
+                exitWithUsage("Error: Unknown option: " + args[i]);
+            }
+        }
+        if (!format.equals("csv") && !format.equals("json") && !format.equals("both")) {
+            exitWithUsage("Error: Format must be 'csv', 'json' or 'both'.");
+        }
+        if (propertyRows < 0) {
+            // about half as many properties as violations, as in the real files
+            propertyRows = Math.max(1, violationRows / 2);
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            System.err.println("Error: Cannot create directory: " + directory);
+            System.exit(1);
+        }
+
+        try {
+            DataGenerator generator = new DataGenerator(seed, dirtyRate);
+            if (!format.equals("json")) {
+                generator.writeViolationsCSV(violationRows, new File(directory, "parking.csv").getPath());
+            }
+            if (!format.equals("csv")) {
+                generator.writeViolationsJSON(violationRows, new File(directory, "parking.json").getPath());
+            }
+            generator.writePropertiesCSV(propertyRows, new File(directory, "properties.csv").getPath());
+            generator.writePopulation(new File(directory, "population.txt").getPath());
+            System.out.println("Wrote " + violationRows + " violations and " + propertyRows
+                               + " properties to " + directory);
+        } catch (IOException e) {
+            System.err.println("Error writing file: " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static long parseRows(String value) {
+        try {
+            long rows = Long.parseLong(value.replace("_", ""));
+            if (rows >= 0) {
+                return rows;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        exitWithUsage("Error: Invalid row count: " + value);
+        return -1;
+    }
+
+    private static void exitWithUsage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: java tools.DataGenerator <output_dir> <violation_rows> [--properties <rows>]"
+                           + " [--format csv|json|both] [--seed <seed>] [--dirty <rate>]");
+        System.exit(1);
+    }
+}